@@ -0,0 +1,92 @@
+package com.library.bench;
+
+import com.library.loadgen.CatalogSeeder;
+import com.library.service.BorrowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BorrowService transactions. Each measured call is paired with the opposite
+ * call outside the measurement, so the number of open loans stays constant
+ * and no member runs into the borrow limit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowBenchmarks {
+    private static final int STRIDE = 7_919;
+
+    @Benchmark
+    public boolean borrowBook(BorrowState loan) {
+        return loan.borrowService.borrowBook(loan.userId, loan.isbn);
+    }
+
+    @Benchmark
+    public boolean returnBook(ReturnState loan) {
+        return loan.borrowService.returnBook(loan.userId, loan.isbn);
+    }
+
+    /**
+     * The next member and book of a thread; every book is on the shelf
+     * between invocations
+     */
+    @State(Scope.Thread)
+    public static class Loan {
+        final BorrowService borrowService = new BorrowService();
+        private int cursor;
+        String userId;
+        String isbn;
+
+        void next(SeededDatabase db) {
+            cursor = (cursor + STRIDE) % db.catalogSize;
+            userId = CatalogSeeder.userId(cursor % db.userCount);
+            isbn = CatalogSeeder.isbn(cursor);
+        }
+    }
+
+    /**
+     * Returns the book again after each borrowBook invocation
+     */
+    @State(Scope.Thread)
+    public static class BorrowState extends Loan {
+        @Setup(Level.Invocation)
+        public void pick(SeededDatabase db) {
+            next(db);
+        }
+
+        @TearDown(Level.Invocation)
+        public void giveBack() {
+            if (!borrowService.returnBook(userId, isbn)) {
+                throw new IllegalStateException("Could not return " + isbn + " for " + userId);
+            }
+        }
+    }
+
+    /**
+     * Borrows a book before each returnBook invocation
+     */
+    @State(Scope.Thread)
+    public static class ReturnState extends Loan {
+        @Setup(Level.Invocation)
+        public void borrow(SeededDatabase db) {
+            next(db);
+            if (!borrowService.borrowBook(userId, isbn)) {
+                throw new IllegalStateException("Could not borrow " + isbn + " for " + userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.library.bench;
+
+import com.library.database.BookDAO;
+import com.library.database.UserDAO;
+import com.library.loadgen.CatalogSeeder;
+import com.library.model.Book;
+import com.library.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of BookDAO and UserDAO against the seeded catalog. Keys are
+ * spread over the whole table so lookups do not hit one hot page only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmarks {
+    /** Coprime with every catalog size, so the cursor visits all rows */
+    private static final int STRIDE = 7_919;
+
+    private BookDAO bookDAO;
+    private UserDAO userDAO;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase db) {
+        bookDAO = new BookDAO();
+        userDAO = new UserDAO();
+    }
+
+    private int next(int size) {
+        cursor = (cursor + STRIDE) % size;
+        return cursor;
+    }
+
+    @Benchmark
+    public Book findByIsbn(SeededDatabase db) {
+        return bookDAO.findByIsbn(CatalogSeeder.isbn(next(db.catalogSize)));
+    }
+
+    @Benchmark
+    public List<Book> search(SeededDatabase db) {
+        List<String> words = CatalogSeeder.TITLE_WORDS;
+        return bookDAO.search(words.get(next(words.size())));
+    }
+
+    @Benchmark
+    public List<Book> findAll(SeededDatabase db) {
+        return bookDAO.findAll();
+    }
+
+    @Benchmark
+    public User findUserById(SeededDatabase db) {
+        return userDAO.findById(CatalogSeeder.userId(next(db.userCount)));
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.bench;
+
+import com.library.database.BookDAO;
+import com.library.database.Database;
+import com.library.database.UserDAO;
+import com.library.loadgen.AppLogLevel;
+import com.library.loadgen.CatalogSeeder;
+import com.library.service.TrendingTracker;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A temporary SQLite file seeded with catalogSize books and catalogSize / 10
+ * members (at least 100) by the load generator's CatalogSeeder, plus one
+ * returned loan per member.
+ *
+ * Database is a process-wide singleton, so each catalog size needs its own
+ * JVM: keep forks at 1 or more and never run these with -f 0.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    public int userCount;
+    private Path file;
+    private final Random random = new Random(SEED);
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException, SQLException {
+        // Per-borrow INFO lines would dominate the measurements
+        AppLogLevel.set(ch.qos.logback.classic.Level.WARN);
+        file = Files.createTempFile("library-bench-" + catalogSize + "-", ".db");
+        Files.delete(file);
+        // Must be set before Database is first touched
+        System.setProperty("library.db.path", file.toString());
+
+        userCount = Math.max(100, catalogSize / 10);
+        CatalogSeeder seeder = new CatalogSeeder(new BookDAO(), new UserDAO(), SEED);
+        seeder.seedBooks(catalogSize);
+        seeder.seedUsers(userCount);
+        seedLoanHistory();
+        // Keep the periodic trending snapshot from writing during measurements
+        TrendingTracker.getInstance().shutdown();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Database.getInstance().close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * One returned loan per member, so borrow_records has rows to map
+     * without leaving any book checked out
+     */
+    private void seedLoanHistory() throws SQLException {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Object[]> rows = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            LocalDateTime borrowed = start.plusHours(i);
+            rows.add(new Object[] {
+                CatalogSeeder.userId(i), CatalogSeeder.isbn(random.nextInt(catalogSize)),
+                borrowed.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                borrowed.plusDays(14).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                borrowed.plusDays(7).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            });
+        }
+        Database database = Database.getInstance();
+        database.beginTransaction();
+        try {
+            database.executeBatch("""
+                INSERT INTO borrow_records (user_id, book_isbn, borrow_date, due_date, return_date, is_returned)
+                VALUES (?, ?, ?, ?, ?, TRUE)
+            """, rows);
+            database.commitTransaction();
+        } catch (SQLException e) {
+            database.rollbackTransaction();
+            throw e;
+        }
+    }
+}
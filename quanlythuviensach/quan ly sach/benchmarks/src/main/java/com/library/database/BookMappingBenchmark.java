@@ -0,0 +1,72 @@
+package com.library.database;
+
+import com.library.bench.SeededDatabase;
+import com.library.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of BookDAO.mapResultSetToBook per page of rows. The scan benchmark
+ * runs the same query without mapping, so the difference between the two
+ * is the mapping itself. Lives in com.library.database to reach the
+ * package-private mapper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookMappingBenchmark {
+    @Param({"100"})
+    public int rows;
+
+    private PreparedStatement query;
+
+    @Setup(Level.Trial)
+    public void prepare(SeededDatabase db) throws SQLException {
+        query = Database.getInstance().getConnection().prepareStatement("SELECT * FROM books LIMIT ?");
+        query.setInt(1, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        query.close();
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getString("isbn"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void scanAndMap(Blackhole bh) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                Book book = BookDAO.mapResultSetToBook(rs);
+                bh.consume(book);
+            }
+        }
+    }
+}
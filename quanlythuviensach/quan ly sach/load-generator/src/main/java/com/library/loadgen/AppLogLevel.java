@@ -0,0 +1,31 @@
+package com.library.loadgen;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sets one Logback level for all application loggers, so per-operation
+ * INFO lines do not dominate load runs and benchmarks
+ */
+public final class AppLogLevel {
+    private static final String APP_LOGGER = "com.library";
+
+    private AppLogLevel() {
+    }
+
+    /**
+     * Apply level to com.library, clearing the levels logback.xml gives its
+     * children (com.library.database, com.library.service) so they inherit it
+     */
+    public static void set(Level level) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (Logger logger : context.getLoggerList()) {
+            if (logger.getName().startsWith(APP_LOGGER + ".")) {
+                logger.setLevel(null);
+            }
+        }
+        context.getLogger(APP_LOGGER).setLevel(level);
+    }
+}
@@ -0,0 +1,116 @@
+package com.library.loadgen;
+
+import com.library.database.BookDAO;
+import com.library.database.Database;
+import com.library.database.UserDAO;
+import com.library.model.Book;
+import com.library.model.Staff;
+import com.library.model.Student;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic catalog and patron base through BookDAO and UserDAO.
+ * IDs are derived from the index, so a run can reuse an already seeded
+ * database of the same size and pick valid ISBNs and member IDs directly.
+ */
+public class CatalogSeeder {
+    private static final int BATCH_SIZE = 1_000;
+    /** One member in ten is staff */
+    private static final int STAFF_EVERY = 10;
+
+    /** Words titles are built from, so they double as search terms */
+    public static final List<String> TITLE_WORDS = List.of(
+        "Lịch sử", "Việt Nam", "Nhập môn", "Lập trình", "Java", "Kinh tế", "Toán học", "Vật lý",
+        "Hóa học", "Văn học", "Thơ", "Tiểu thuyết", "Dữ liệu", "Mạng", "Hệ thống", "Phân tích",
+        "Thiết kế", "Cơ sở", "Nâng cao", "Thực hành", "Giáo trình", "Triết học", "Tâm lý", "Quản trị",
+        "Marketing", "Sinh học", "Địa lý", "Âm nhạc", "Hội họa", "Kiến trúc", "Điện tử", "Thuật toán"
+    );
+    private static final List<String> SURNAMES = List.of("Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Vũ", "Đặng", "Bùi");
+    private static final List<String> GIVEN_NAMES = List.of("An", "Bình", "Chi", "Dũng", "Hà", "Hùng", "Lan", "Minh", "Nam", "Thảo");
+    private static final List<String> GENRES = List.of("Văn học", "Công nghệ", "Khoa học", "Kinh tế", "Lịch sử", "Nghệ thuật");
+    private static final List<String> LANGUAGES = List.of("Tiếng Việt", "English");
+
+    private final BookDAO bookDAO;
+    private final UserDAO userDAO;
+    private final Random random;
+
+    public CatalogSeeder(BookDAO bookDAO, UserDAO userDAO, long seed) {
+        this.bookDAO = bookDAO;
+        this.userDAO = userDAO;
+        this.random = new Random(seed);
+    }
+
+    public static String isbn(int index) {
+        return String.format("978%010d", index);
+    }
+
+    public static String userId(int index) {
+        return (index % STAFF_EVERY == 0 ? "LGF" : "LGS") + String.format("%06d", index);
+    }
+
+    /**
+     * Whether a previous run already seeded at least this many books and users
+     */
+    public boolean isSeeded(int books, int users) {
+        return bookDAO.findByIsbn(isbn(books - 1)) != null && userDAO.existsById(userId(users - 1));
+    }
+
+    public void seedBooks(int count) {
+        List<Book> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(createBook(i));
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                if (bookDAO.upsertAll(batch) != batch.size()) {
+                    throw new IllegalStateException("Failed to seed books " + (i - batch.size() + 1) + ".." + i);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert users in one transaction; UserDAO has no batch insert
+     */
+    public void seedUsers(int count) throws SQLException {
+        Database database = Database.getInstance();
+        database.beginTransaction();
+        try {
+            for (int i = 0; i < count; i++) {
+                String id = userId(i);
+                if (userDAO.existsById(id)) {
+                    continue;
+                }
+                String name = pick(SURNAMES) + " " + pick(GIVEN_NAMES) + " " + i;
+                boolean saved = i % STAFF_EVERY == 0
+                    ? userDAO.save(new Staff(name, id, pick(GENRES)))
+                    : userDAO.save(new Student(name, id, pick(GENRES)));
+                if (!saved) {
+                    throw new SQLException("Failed to seed user " + id);
+                }
+            }
+            database.commitTransaction();
+        } catch (SQLException | RuntimeException e) {
+            database.rollbackTransaction();
+            throw e;
+        }
+    }
+
+    private Book createBook(int index) {
+        String title = pick(TITLE_WORDS) + " " + pick(TITLE_WORDS) + " " + (index % 7 + 1);
+        String author = pick(SURNAMES) + " " + pick(GIVEN_NAMES);
+        Book book = new Book(title, author, isbn(index), "NXB Thử nghiệm",
+            LocalDate.of(1990 + random.nextInt(35), 1 + random.nextInt(12), 1),
+            80 + random.nextInt(900), pick(GENRES), pick(LANGUAGES));
+        book.setSoLuong(1 + random.nextInt(3));
+        return book;
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,299 @@
+package com.library.loadgen;
+
+import ch.qos.logback.classic.Level;
+import com.library.controller.LibraryController;
+import com.library.database.BookDAO;
+import com.library.database.UserDAO;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Replays a mixed circulation workload (search, detail lookup, borrow,
+ * return, stats) against a seeded database and reports throughput and
+ * latency percentiles per operation.
+ *
+ * Each desk thread issues requests on a fixed schedule (open loop) and
+ * latency is measured from the scheduled start, so a stalled store shows
+ * up as queueing delay instead of silently lowering the offered load.
+ * Calls go through LibraryController.submit like the views and the API
+ * server, so database work is serialised on one connection as in production.
+ *
+ * Options (--name=value): books, users, threads, rate (total ops/s, 0 for
+ * as fast as possible), duration and warmup (seconds), mix
+ * (e.g. search:40,detail:30,borrow:12,return:12,stats:6), db, out, seed, log
+ * (a Logback level for com.library, ERROR by default).
+ */
+public class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    /** Higher values concentrate detail lookups and borrows on fewer books */
+    private static final double POPULARITY_SKEW = 3.0;
+
+    private final Map<String, String> options;
+    private final int books;
+    private final int users;
+    private final int threads;
+    private final double rate;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final Operation[] mixTable;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Loan> openLoans = new ConcurrentLinkedQueue<>();
+    private LibraryController controller;
+    private volatile boolean running = true;
+    private long measuredNanos;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.books = intOption("books", 20_000);
+        this.users = intOption("users", 2_000);
+        this.threads = intOption("threads", 8);
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        this.durationSeconds = intOption("duration", 60);
+        this.warmupSeconds = intOption("warmup", 10);
+        this.mixTable = parseMix(options.get("mix"));
+        for (Operation op : Operation.values()) {
+            recorders.put(op, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            failures.put(op, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        // Must be set before Database is first touched
+        System.setProperty("library.db.path", options.getOrDefault("db", "loadtest.db"));
+        AppLogLevel.set(Level.toLevel(options.getOrDefault("log", "ERROR"), Level.ERROR));
+
+        LoadGenerator generator = new LoadGenerator(options);
+        generator.seed();
+        generator.run();
+        generator.report(Path.of(options.getOrDefault("out", "loadgen-results")));
+        generator.controller.shutdown();
+        System.exit(0);
+    }
+
+    // Setup
+
+    private void seed() throws Exception {
+        CatalogSeeder seeder = new CatalogSeeder(new BookDAO(), new UserDAO(),
+            Long.parseLong(options.getOrDefault("seed", "42")));
+        if (seeder.isSeeded(books, users)) {
+            System.out.printf("Reusing seeded database: %d books, %d users%n", books, users);
+            return;
+        }
+        long start = System.nanoTime();
+        seeder.seedBooks(books);
+        seeder.seedUsers(users);
+        System.out.printf("Seeded %d books and %d users in %d ms%n",
+            books, users, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void run() throws InterruptedException {
+        controller = new LibraryController();
+        System.out.printf("Running %d desks at %s ops/s for %ds (+%ds warm-up)%n",
+            threads, rate > 0 ? String.format("%.0f", rate) : "max", durationSeconds, warmupSeconds);
+
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int desk = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    runDesk(desk, start);
+                } finally {
+                    done.countDown();
+                }
+            }, "desk-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        for (Recorder recorder : recorders.values()) {
+            recorder.reset();
+        }
+        failures.values().forEach(LongAdder::reset);
+        long measureStart = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        running = false;
+        measuredNanos = System.nanoTime() - measureStart;
+        done.await();
+    }
+
+    /**
+     * One desk: issue operations every interval, measuring latency from the
+     * time each was due
+     */
+    private void runDesk(int desk, long start) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long interval = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+        long due = start + (interval * desk) / Math.max(threads, 1);
+        while (running) {
+            if (interval > 0) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                due = System.nanoTime();
+            }
+            Operation op = mixTable[random.nextInt(mixTable.length)];
+            boolean ok;
+            try {
+                ok = execute(op, random);
+            } catch (RuntimeException e) {
+                ok = false;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            recorders.get(op).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                failures.get(op).increment();
+            }
+            due += interval;
+        }
+    }
+
+    private boolean execute(Operation op, ThreadLocalRandom random) {
+        switch (op) {
+            case SEARCH: {
+                String term = CatalogSeeder.TITLE_WORDS.get(random.nextInt(CatalogSeeder.TITLE_WORDS.size()));
+                return call(() -> controller.searchBooks(term)) != null;
+            }
+            case DETAIL: {
+                String isbn = CatalogSeeder.isbn(popularIndex(random, books));
+                return call(() -> controller.getBookByIsbn(isbn)) != null;
+            }
+            case BORROW:
+                return borrow(random);
+            case RETURN: {
+                Loan loan = openLoans.poll();
+                if (loan == null) {
+                    // Nothing on loan yet; keep the offered load by borrowing instead
+                    return borrow(random);
+                }
+                return call(() -> controller.returnBook(loan.userId(), loan.isbn()));
+            }
+            case STATS:
+                return call(controller::getLibraryStatistics) != null;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + op);
+        }
+    }
+
+    private boolean borrow(ThreadLocalRandom random) {
+        String userId = CatalogSeeder.userId(random.nextInt(users));
+        String isbn = CatalogSeeder.isbn(popularIndex(random, books));
+        boolean ok = call(() -> controller.borrowBook(userId, isbn));
+        if (ok) {
+            openLoans.add(new Loan(userId, isbn));
+        }
+        return ok;
+    }
+
+    private <T> T call(Supplier<T> command) {
+        return controller.submit(command).join();
+    }
+
+    private static int popularIndex(ThreadLocalRandom random, int size) {
+        return (int) (size * Math.pow(random.nextDouble(), POPULARITY_SKEW));
+    }
+
+    // Reporting
+
+    private void report(Path outDir) throws IOException {
+        Files.createDirectories(outDir);
+        double seconds = measuredNanos / 1e9;
+        long totalCount = 0;
+
+        System.out.printf("%n%-7s %9s %10s %8s %10s %10s %10s %10s%n",
+            "op", "count", "ops/s", "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation op : Operation.values()) {
+            Histogram histogram = recorders.get(op).getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            totalCount += count;
+            System.out.printf("%-7s %9d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                op.name().toLowerCase(), count, count / seconds, failures.get(op).sum(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+
+            Path file = outDir.resolve(op.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, "UTF-8")) {
+                // Values are recorded in microseconds; report them in milliseconds
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.printf("%ntotal   %9d %10.1f ops/s over %.1fs%n", totalCount, totalCount / seconds, seconds);
+        System.out.println("Percentile distributions written to " + outDir.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // Options
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Expand weights into a lookup table so picking an operation is one random index
+     */
+    private static Operation[] parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        if (mix == null || mix.isBlank()) {
+            for (Operation op : Operation.values()) {
+                weights.put(op, op.getDefaultWeight());
+            }
+        } else {
+            for (String part : mix.split(",")) {
+                String[] kv = part.trim().split(":");
+                weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+            }
+        }
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix has no positive weights: " + mix);
+        }
+        Operation[] table = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                table[i++] = entry.getKey();
+            }
+        }
+        return table;
+    }
+
+    private record Loan(String userId, String isbn) {
+    }
+}
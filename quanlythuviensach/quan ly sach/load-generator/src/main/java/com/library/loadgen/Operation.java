@@ -0,0 +1,22 @@
+package com.library.loadgen;
+
+/**
+ * Operations of the circulation workload, with their default share of the mix
+ */
+public enum Operation {
+    SEARCH(40),
+    DETAIL(30),
+    BORROW(12),
+    RETURN(12),
+    STATS(6);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
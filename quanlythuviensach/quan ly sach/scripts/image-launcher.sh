@@ -0,0 +1,7 @@
+#!/bin/sh
+# Installed as bin/library in the jlink image built by "mvn -Pjlink package".
+# JavaFX and the JDK modules are linked into the image; the application and
+# its libraries (automatic modules, which jlink cannot link) live in app/.
+DIR="$(cd "$(dirname "$0")/.." && pwd)"
+exec "$DIR/bin/java" $JAVA_OPTS --module-path "$DIR/app" --add-modules ALL-MODULE-PATH \
+    -m library.management.system "$@"
@@ -0,0 +1,15 @@
+@echo off
+rem Start the application from the shaded jar, using the AppCDS archive
+rem built by "mvn -Pappcds verify" when it is present.
+setlocal
+
+set "DIR=%~dp0.."
+if not defined JAR set "JAR=%DIR%\target\library-management-system-1.0.0.jar"
+if not defined ARCHIVE set "ARCHIVE=%DIR%\target\library.jsa"
+set "JAVA=java"
+if defined JAVA_HOME set "JAVA=%JAVA_HOME%\bin\java"
+
+set "CDS_OPTS="
+if exist "%ARCHIVE%" set "CDS_OPTS=-XX:SharedArchiveFile=%ARCHIVE% -Xshare:auto"
+
+"%JAVA%" %CDS_OPTS% -jar "%JAR%" %*
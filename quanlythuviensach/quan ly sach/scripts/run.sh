@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Start the application from the shaded jar, using the AppCDS archive
+# built by "mvn -Pappcds verify" when it is present.
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="${JAR:-$DIR/target/library-management-system-1.0.0.jar}"
+ARCHIVE="${ARCHIVE:-$DIR/target/library.jsa}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+CDS_OPTS=()
+if [ -f "$ARCHIVE" ]; then
+    # -Xshare:auto falls back to normal class loading if the archive does
+    # not match this JDK or jar (e.g. after a rebuild)
+    CDS_OPTS=(-XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto)
+fi
+
+exec "$JAVA" "${CDS_OPTS[@]}" -jar "$JAR" "$@"
@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Compare time-to-window of the shaded jar on the full JDK, with the AppCDS
+# archive (mvn -Pappcds verify) and from the jlink image (mvn -Pjlink package).
+#
+# Each run starts the application with -Dlibrary.exitAfterStartup=true in a
+# scratch directory and reads the startup times MainView logs:
+#   "First frame after N ms"        window shown (from process start)
+#   "Initial data ready after N ms" first tab built and loaded
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (default 5, needs a display)
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="${JAR:-$DIR/target/library-management-system-1.0.0.jar}"
+ARCHIVE="${ARCHIVE:-$DIR/target/library.jsa}"
+IMAGE="${IMAGE:-$DIR/target/image}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+RUNS="${1:-5}"
+
+if [ ! -f "$JAR" ]; then
+    echo "Missing $JAR - run 'mvn package' first" >&2
+    exit 1
+fi
+
+WORK="$(mktemp -d)"
+trap 'rm -rf "$WORK"' EXIT
+
+# Print "<first frame ms> <data ready ms>" for one run of the given command
+run_once() {
+    local out
+    # JAVA_TOOL_OPTIONS reaches the JVM whichever launcher starts it
+    out="$(cd "$WORK" && JAVA_TOOL_OPTIONS="-Dlibrary.exitAfterStartup=true" "$@" 2>&1 || true)"
+    local frame ready
+    frame="$(grep -oE 'First frame after [0-9]+' <<<"$out" | grep -oE '[0-9]+$' || echo NA)"
+    ready="$(grep -oE 'Initial data ready after [0-9]+' <<<"$out" | grep -oE '[0-9]+$' || echo NA)"
+    echo "$frame $ready"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "NA"; else print v[int((NR + 1) / 2)] }'
+}
+
+measure() {
+    local label="$1"
+    shift
+    run_once "$@" > /dev/null # warm-up: OS file cache, fresh database
+    local results=()
+    for _ in $(seq "$RUNS"); do
+        results+=("$(run_once "$@")")
+    done
+    local frame ready
+    frame="$(printf '%s\n' "${results[@]}" | awk '$1 != "NA" { print $1 }' | median)"
+    ready="$(printf '%s\n' "${results[@]}" | awk '$2 != "NA" { print $2 }' | median)"
+    printf '%-10s first frame %6s ms   data ready %6s ms   (median of %d)\n' "$label" "$frame" "$ready" "$RUNS"
+}
+
+measure "JDK" "$JAVA" -Xshare:auto -jar "$JAR"
+if [ -f "$ARCHIVE" ]; then
+    measure "AppCDS" "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -jar "$JAR"
+else
+    echo "No archive at $ARCHIVE - run 'mvn -Pappcds verify' to compare" >&2
+fi
+if [ -x "$IMAGE/bin/library" ]; then
+    measure "jlink" "$IMAGE/bin/library"
+    echo "jlink image size: $(du -sh "$IMAGE" | cut -f1)"
+else
+    echo "No image at $IMAGE - run 'mvn -Pjlink package' to compare" >&2
+fi
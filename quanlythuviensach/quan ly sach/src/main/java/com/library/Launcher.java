@@ -0,0 +1,26 @@
+package com.library;
+
+import com.library.jfr.FlightRecording;
+import com.library.logging.JulBridge;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the shaded jar. The JVM refuses to start a main class that
+ * extends Application when JavaFX is on the class path instead of the
+ * module path, so "java -jar" goes through this class.
+ *
+ * With --headless the JSON API server starts instead of the window, and
+ * -Dlibrary.jfr=file.jfr records a flight recording of either mode.
+ */
+public class Launcher {
+    public static void main(String[] args) throws Exception {
+        JulBridge.install();
+        FlightRecording.startIfRequested();
+        if (args.length > 0 && "--headless".equals(args[0])) {
+            LibraryServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        LibraryApplication.main(args);
+    }
+}
@@ -1,17 +1,18 @@
 package com.library;
 
+import com.library.logging.JulBridge;
 import com.library.view.MainView;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
-
-import java.util.logging.Logger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Main application class for Library Management System
  */
 public class LibraryApplication extends Application {
-    private static final Logger LOGGER = Logger.getLogger(LibraryApplication.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryApplication.class);
     
     @Override
     public void start(Stage primaryStage) {
@@ -22,13 +23,13 @@ public class LibraryApplication extends Application {
             // Set up application close handler
             primaryStage.setOnCloseRequest(event -> {
                 LOGGER.info("Application closing...");
+                mainView.shutdown();
                 Platform.exit();
                 System.exit(0);
             });
             
         } catch (Exception e) {
-            LOGGER.severe("Failed to start application: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to start application", e);
             Platform.exit();
         }
     }
@@ -40,6 +41,7 @@ public class LibraryApplication extends Application {
     }
     
     public static void main(String[] args) {
+        JulBridge.install();
         LOGGER.info("Starting Library Management System...");
         launch(args);
     }
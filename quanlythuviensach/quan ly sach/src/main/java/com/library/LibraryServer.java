@@ -0,0 +1,39 @@
+package com.library;
+
+import com.library.api.LibraryApiServer;
+import com.library.controller.LibraryController;
+import com.library.logging.JulBridge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Headless entry point: serves the JSON API without starting JavaFX.
+ *
+ * Binds to library.api.host (default 127.0.0.1) and library.api.port
+ * (default 8080); set the host to 0.0.0.0 to accept kiosks on the network.
+ */
+public class LibraryServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryServer.class);
+    private static final String DEFAULT_HOST = "127.0.0.1";
+    private static final int DEFAULT_PORT = 8080;
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    public static void main(String[] args) throws IOException {
+        JulBridge.install();
+        LOGGER.info("Starting Library Management System in headless mode...");
+        String host = System.getProperty("library.api.host", DEFAULT_HOST);
+        int port = Integer.getInteger("library.api.port", DEFAULT_PORT);
+
+        LibraryController controller = new LibraryController();
+        LibraryApiServer server = new LibraryApiServer(controller, new InetSocketAddress(host, port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOGGER.info("Headless server stopping...");
+            server.stop(STOP_DELAY_SECONDS);
+            controller.shutdown();
+        }, "api-shutdown"));
+        server.start();
+    }
+}
@@ -0,0 +1,351 @@
+package com.library.api;
+
+import com.google.gson.JsonParseException;
+import com.library.controller.LibraryController;
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+import com.library.metrics.Timer;
+import com.library.model.Book;
+import com.library.model.BorrowRecord;
+import com.library.utils.JsonUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * JSON API over the library controller for kiosks and the campus portal.
+ *
+ * Every exchange runs on its own virtual thread, so many slow clients cost
+ * little; database work still goes through the controller's database
+ * executor, which bounds concurrent access to the shared connection.
+ *
+ * Endpoints:
+ * GET  /api/health
+ * GET  /api/books?q=term&amp;limit=n   search (all books without q)
+ * GET  /api/books/{isbn}
+ * GET  /api/users/{id}/borrows      current borrows of a member
+ * POST /api/borrow                  {"userId": "...", "isbn": "..."}
+ * POST /api/return                  {"userId": "...", "isbn": "..."}
+ * GET  /api/stats
+ * GET  /api/metrics                 plain-text latency and counter table
+ */
+public class LibraryApiServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryApiServer.class);
+    private static final int BACKLOG = 256;
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 500;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+    /** Responses by status class (2xx to 5xx), indexed by status / 100 */
+    private static final Counter[] RESPONSES = new Counter[6];
+
+    static {
+        for (int i = 2; i < RESPONSES.length; i++) {
+            RESPONSES[i] = Metrics.getInstance().counter("http.responses." + i + "xx");
+        }
+    }
+
+    private final LibraryController controller;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public LibraryApiServer(LibraryController controller, InetSocketAddress address) throws IOException {
+        this.controller = controller;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("api-", 0).factory());
+        server.setExecutor(executor);
+
+        route("/api/health", "GET", exchange -> Map.of("status", "ok"));
+        route("/api/books", "GET", this::books);
+        route("/api/users/", "GET", this::userBorrows);
+        route("/api/borrow", "POST", this::borrow);
+        route("/api/return", "POST", this::returnBook);
+        route("/api/stats", "GET", exchange -> stats());
+        route("/api/metrics", "GET", exchange -> new TextBody(Metrics.getInstance().getTextSnapshot()));
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("Library API listening on {}", server.getAddress());
+    }
+
+    /**
+     * Stop accepting requests, wait up to delaySeconds for running exchanges
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // Handlers
+
+    private Object books(HttpExchange exchange) throws ApiException {
+        String isbn = pathTail(exchange, "/api/books");
+        if (isbn.contains("/")) {
+            throw new ApiException(404, "Không tìm thấy");
+        }
+        if (!isbn.isEmpty()) {
+            Book book = call(() -> controller.getBookByIsbn(isbn));
+            if (book == null) {
+                throw new ApiException(404, "Không tìm thấy sách với ISBN: " + isbn);
+            }
+            return book;
+        }
+
+        Map<String, String> query = query(exchange);
+        int limit = parseLimit(query.get("limit"));
+        String term = query.getOrDefault("q", "").trim();
+        List<Book> books = call(() -> term.isEmpty() ? controller.getAllBooks() : controller.searchBooks(term));
+        return books.size() > limit ? books.subList(0, limit) : books;
+    }
+
+    private Object userBorrows(HttpExchange exchange) throws ApiException {
+        String[] parts = pathTail(exchange, "/api/users").split("/");
+        if (parts.length != 2 || !"borrows".equals(parts[1])) {
+            throw new ApiException(404, "Không tìm thấy");
+        }
+        String userId = parts[0];
+        List<BorrowRecord> borrows = call(() ->
+            controller.userExists(userId) ? controller.getUserCurrentBorrows(userId) : null);
+        if (borrows == null) {
+            throw new ApiException(404, "Không tìm thấy thành viên: " + userId);
+        }
+        return borrows;
+    }
+
+    private Object borrow(HttpExchange exchange) throws ApiException, IOException {
+        LoanRequest request = readLoanRequest(exchange);
+        ApiException error = call(() -> {
+            if (!controller.userExists(request.userId())) {
+                return new ApiException(404, "Không tìm thấy thành viên: " + request.userId());
+            }
+            Book book = controller.getBookByIsbn(request.isbn());
+            if (book == null) {
+                return new ApiException(404, "Không tìm thấy sách với ISBN: " + request.isbn());
+            }
+            if (book.isBorrowed()) {
+                return new ApiException(409, "Sách hiện đang được mượn.");
+            }
+            return controller.borrowBook(request.userId(), request.isbn())
+                ? null : new ApiException(409, "Không thể mượn sách. Vui lòng kiểm tra điều kiện mượn.");
+        });
+        if (error != null) {
+            throw error;
+        }
+        return Map.of("status", "borrowed", "userId", request.userId(), "isbn", request.isbn());
+    }
+
+    private Object returnBook(HttpExchange exchange) throws ApiException, IOException {
+        LoanRequest request = readLoanRequest(exchange);
+        ApiException error = call(() -> {
+            if (!controller.userExists(request.userId())) {
+                return new ApiException(404, "Không tìm thấy thành viên: " + request.userId());
+            }
+            return controller.returnBook(request.userId(), request.isbn())
+                ? null : new ApiException(409, "Không thể trả sách. Kiểm tra lại dữ liệu.");
+        });
+        if (error != null) {
+            throw error;
+        }
+        return Map.of("status", "returned", "userId", request.userId(), "isbn", request.isbn());
+    }
+
+    private Object stats() throws ApiException {
+        LibraryController.LibraryStatistics stats = call(controller::getLibraryStatistics);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("totalBooks", stats.getTotalBooks());
+        json.put("availableBooks", stats.getAvailableBooks());
+        json.put("borrowedBooks", stats.getBorrowedBooks());
+        json.put("totalStudents", stats.getTotalStudents());
+        json.put("totalStaff", stats.getTotalStaff());
+        json.put("activeBorrows", stats.getActiveBorrows());
+        json.put("overdueBooks", stats.getOverdueBooks());
+        json.put("totalFines", stats.getTotalFines());
+        return json;
+    }
+
+    // Plumbing
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(HttpExchange exchange) throws ApiException, IOException;
+    }
+
+    private void route(String path, String method, Handler handler) {
+        String base = path.replaceAll("/+$", "");
+        // e.g. /api/users/ is timed as http.api.users
+        Timer timer = Metrics.getInstance().timer("http" + base.replace('/', '.'));
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            try (exchange) {
+                int status = 200;
+                Object body;
+                try {
+                    // Contexts match by prefix; /api/booksX must not reach /api/books
+                    String requested = exchange.getRequestURI().getPath();
+                    if (!requested.equals(base) && !requested.startsWith(base + "/")) {
+                        throw new ApiException(404, "Không tìm thấy");
+                    }
+                    if (!method.equals(exchange.getRequestMethod())) {
+                        exchange.getResponseHeaders().set("Allow", method);
+                        throw new ApiException(405, "Phương thức không được hỗ trợ");
+                    }
+                    body = handler.handle(exchange);
+                } catch (ApiException e) {
+                    status = e.status;
+                    body = Map.of("error", e.getMessage());
+                } catch (IOException e) {
+                    // e.g. a request body cut off before its declared length
+                    LOGGER.warn("Could not read API request {}: {}", exchange.getRequestURI(), e.getMessage());
+                    status = 400;
+                    body = Map.of("error", "Không đọc được nội dung yêu cầu");
+                } catch (RuntimeException e) {
+                    LOGGER.error("API request failed: {}", exchange.getRequestURI(), e);
+                    status = 500;
+                    body = Map.of("error", "Lỗi máy chủ");
+                }
+                // Counted first so a client that has gone away is still counted
+                RESPONSES[Math.min(status / 100, RESPONSES.length - 1)].increment();
+                send(exchange, status, body);
+            } finally {
+                timer.recordSince(start);
+            }
+        });
+    }
+
+    /**
+     * Run a blocking controller call on the database executor and wait for it;
+     * waiting parks only this request's virtual thread
+     */
+    private <T> T call(Supplier<T> command) throws ApiException {
+        try {
+            return controller.submit(command).join();
+        } catch (CompletionException e) {
+            LOGGER.error("API command failed", e.getCause());
+            throw new ApiException(500, "Lỗi máy chủ");
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        boolean text = body instanceof TextBody;
+        String content = text ? ((TextBody) body).text() : JsonUtils.gson().toJson(body);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", text ? TEXT : JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static LoanRequest readLoanRequest(HttpExchange exchange) throws ApiException, IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Nội dung yêu cầu quá lớn");
+        }
+        LoanRequest request;
+        try {
+            request = JsonUtils.gson().fromJson(new String(body, StandardCharsets.UTF_8), LoanRequest.class);
+        } catch (JsonParseException e) {
+            throw new ApiException(400, "JSON không hợp lệ");
+        }
+        if (request == null || isBlank(request.userId()) || isBlank(request.isbn())) {
+            throw new ApiException(400, "Vui lòng nhập đầy đủ mã thành viên và ISBN.");
+        }
+        return new LoanRequest(request.userId().trim(), request.isbn().trim());
+    }
+
+    /**
+     * Decoded path after the given prefix, without surrounding slashes
+     */
+    private static String pathTail(HttpExchange exchange, String prefix) {
+        String path = exchange.getRequestURI().getPath();
+        String tail = path.length() > prefix.length() ? path.substring(prefix.length()) : "";
+        while (tail.startsWith("/")) {
+            tail = tail.substring(1);
+        }
+        while (tail.endsWith("/")) {
+            tail = tail.substring(0, tail.length() - 1);
+        }
+        return tail;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.putIfAbsent(key, value);
+        }
+        return params;
+    }
+
+    private static int parseLimit(String value) throws ApiException {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_SEARCH_LIMIT;
+        }
+        try {
+            int limit = Integer.parseInt(value.trim());
+            if (limit <= 0) {
+                throw new ApiException(400, "limit phải là số dương");
+            }
+            return Math.min(limit, MAX_SEARCH_LIMIT);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "limit phải là số");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * A response sent as plain text instead of JSON
+     */
+    private record TextBody(String text) {
+    }
+
+    /**
+     * Body of borrow and return requests
+     */
+    private record LoanRequest(String userId, String isbn) {
+    }
+
+    /**
+     * A client error answered with the given status and message. Commands
+     * return it instead of throwing, since they run as Suppliers.
+     */
+    private static class ApiException extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -2,32 +2,70 @@ package com.library.controller;
 
 import com.library.database.BookDAO;
 import com.library.database.UserDAO;
+import com.library.metrics.Metrics;
 import com.library.model.*;
 import com.library.service.*;
+import com.library.utils.AppExecutors;
+import com.library.utils.HttpClientProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.logging.Logger;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Main controller for the Library Management System
  */
 public class LibraryController {
-    private static final Logger LOGGER = Logger.getLogger(LibraryController.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryController.class);
+    private static final int RECOMMENDATION_TOP_K = 20;
     
     private final BookDAO bookDAO;
     private final UserDAO userDAO;
     private final BorrowService borrowService;
     private final GoogleBooksService googleBooksService;
+    private final BorrowAnalyticsService borrowAnalyticsService;
+    private final TrendingTracker trendingTracker;
+    private final IsbnEnrichmentService isbnEnrichmentService;
+    private final MetadataProvider metadataProvider;
+    private final AutocompleteIndex autocompleteIndex;
+    private final Executor dbExecutor;
+    private volatile CoBorrowIndex coBorrowIndex;
     
     public LibraryController() {
+        this.dbExecutor = AppExecutors.getInstance().db();
         this.bookDAO = new BookDAO();
         this.userDAO = new UserDAO();
         this.borrowService = new BorrowService();
         this.googleBooksService = new GoogleBooksService();
+        this.borrowAnalyticsService = new BorrowAnalyticsService();
+        this.trendingTracker = TrendingTracker.getInstance();
+        this.isbnEnrichmentService = new IsbnEnrichmentService(googleBooksService, bookDAO);
+        this.metadataProvider = new CompositeMetadataProvider(
+            List.of(googleBooksService, new LocalFileMetadataProvider()));
+        this.autocompleteIndex = new AutocompleteIndex();
+        runInBackground(this::rebuildAutocompleteIndex);
+    }
+    
+    /**
+     * Run blocking view work (usually a JavaFX Task) on the database executor
+     */
+    public void runInBackground(Runnable task) {
+        dbExecutor.execute(task);
+    }
+    
+    /**
+     * Run a blocking command (DAO or service calls) on the database executor.
+     * Views use this instead of calling the synchronous methods on the FX
+     * thread; commands must not submit and join further commands themselves.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> command) {
+        return CompletableFuture.supplyAsync(command, dbExecutor);
     }
     
     // Book Management Methods
@@ -57,15 +95,27 @@ public class LibraryController {
     }
     
     public boolean addBook(Book book) {
-        return bookDAO.save(book);
+        boolean saved = bookDAO.save(book);
+        if (saved) {
+            autocompleteIndex.putBook(book);
+        }
+        return saved;
     }
     
     public boolean updateBook(Book book) {
-        return bookDAO.update(book);
+        boolean updated = bookDAO.update(book);
+        if (updated) {
+            autocompleteIndex.putBook(book);
+        }
+        return updated;
     }
     
     public boolean deleteBook(String isbn) {
-        return bookDAO.delete(isbn);
+        boolean deleted = bookDAO.delete(isbn);
+        if (deleted) {
+            autocompleteIndex.removeBook(isbn);
+        }
+        return deleted;
     }
      
     // User Management Methods
@@ -91,15 +141,27 @@ public class LibraryController {
     }
     
     public boolean addUser(User user) {
-        return userDAO.save(user);
+        boolean saved = userDAO.save(user);
+        if (saved) {
+            autocompleteIndex.putUser(user);
+        }
+        return saved;
     }
     
     public boolean updateUser(User user) {
-        return userDAO.update(user);
+        boolean updated = userDAO.update(user);
+        if (updated) {
+            autocompleteIndex.putUser(user);
+        }
+        return updated;
     }
     
     public boolean deleteUser(String userId) {
-        return userDAO.delete(userId);
+        boolean deleted = userDAO.delete(userId);
+        if (deleted) {
+            autocompleteIndex.removeUser(userId);
+        }
+        return deleted;
     }
     
     public boolean updateUserActiveStatus(String userId, boolean isActive) {
@@ -117,7 +179,12 @@ public class LibraryController {
     // Borrow/Return Methods
     
     public boolean borrowBook(String userId, String bookIsbn) {
-        return borrowService.borrowBook(userId, bookIsbn);
+        boolean success = borrowService.borrowBook(userId, bookIsbn);
+        CoBorrowIndex index = coBorrowIndex;
+        if (success && index != null) {
+            index.recordLoan(userId, bookIsbn);
+        }
+        return success;
     }
     
     public boolean returnBook(String userId, String bookIsbn) {
@@ -155,7 +222,7 @@ public class LibraryController {
     // Google Books API Methods
     
     public CompletableFuture<Book> searchBookByIsbn(String isbn) {
-        return googleBooksService.searchByIsbn(isbn);
+        return metadataProvider.lookupByIsbn(isbn);
     }
     
     public CompletableFuture<Book[]> searchBooksByTitle(String title) {
@@ -166,6 +233,46 @@ public class LibraryController {
         return googleBooksService.searchByAuthor(author);
     }
     
+    public CompletableFuture<Book> refreshBookMetadata(String isbn) {
+        return googleBooksService.refreshByIsbn(isbn);
+    }
+    
+    /**
+     * Fetch metadata for a batch of scanned ISBNs and save found books to the catalog
+     */
+    public CompletableFuture<IsbnEnrichmentService.EnrichmentResult> enrichIsbns(List<String> isbns) {
+        return isbnEnrichmentService.enrich(isbns).thenApply(result -> {
+            result.getFound().forEach(autocompleteIndex::putBook);
+            return result;
+        });
+    }
+    
+    // Autocomplete Methods
+    
+    /**
+     * Book title and author suggestions for a search prefix
+     */
+    public List<AutocompleteIndex.Suggestion> suggestBooks(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, AutocompleteIndex.BOOK_KINDS, limit);
+    }
+    
+    /**
+     * Member ID suggestions for a prefix of the ID or the member's name
+     */
+    public List<AutocompleteIndex.Suggestion> suggestUsers(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, AutocompleteIndex.USER_KINDS, limit);
+    }
+    
+    private void rebuildAutocompleteIndex() {
+        long start = System.nanoTime();
+        // Load under the index lock so writes made meanwhile are applied after the rebuild
+        synchronized (autocompleteIndex) {
+            autocompleteIndex.rebuild(bookDAO.findAll(), userDAO.findAll());
+        }
+        LOGGER.info("Autocomplete index built with {} keys in {} ms",
+            autocompleteIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
     // Statistics Methods
     
     public LibraryStatistics getLibraryStatistics() {
@@ -189,12 +296,65 @@ public class LibraryController {
         return stats;
     }
     
+    public BorrowSnapshot loadBorrowSnapshot() {
+        return borrowAnalyticsService.loadSnapshot();
+    }
+    
+    // Recommendation Methods
+    
+    /**
+     * Books most often borrowed by patrons who also borrowed the given book
+     */
+    public List<Book> getAlsoBorrowedBooks(String isbn, int limit) {
+        List<Book> books = new ArrayList<>();
+        for (String otherIsbn : getCoBorrowIndex().getAlsoBorrowed(isbn, limit)) {
+            Book book = bookDAO.findByIsbn(otherIsbn);
+            if (book != null) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+    
+    /**
+     * Books with the most checkouts and detail views over the last week
+     */
+    public List<Book> getTrendingBooks(int limit) {
+        List<Book> books = new ArrayList<>();
+        for (String isbn : trendingTracker.getTrending(limit)) {
+            Book book = bookDAO.findByIsbn(isbn);
+            if (book != null) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+    
+    public void recordBookView(String isbn) {
+        trendingTracker.recordView(isbn);
+    }
+    
+    private CoBorrowIndex getCoBorrowIndex() {
+        CoBorrowIndex index = coBorrowIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = coBorrowIndex;
+                if (index == null) {
+                    index = CoBorrowIndex.build(loadBorrowSnapshot(), RECOMMENDATION_TOP_K);
+                    coBorrowIndex = index;
+                    LOGGER.info("Co-borrow index built for {} books", index.size());
+                }
+            }
+        }
+        return index;
+    }
+    
     // Data Initialization
     
     public void initializeSampleData() {
         try {
             // Check if data already exists
-            if (!getAllBooks().isEmpty()) {
+            if (bookDAO.hasAnyBooks()) {
                 return; // Data already exists
             }
             
@@ -209,7 +369,7 @@ public class LibraryController {
             LOGGER.info("Sample data initialized successfully");
             
         } catch (Exception e) {
-            LOGGER.severe("Failed to initialize sample data: " + e.getMessage());
+            LOGGER.error("Failed to initialize sample data", e);
         }
     }
     
@@ -286,9 +446,10 @@ public class LibraryController {
     // Shutdown method
     
     public void shutdown() {
-        if (googleBooksService != null) {
-            googleBooksService.shutdown();
-        }
+        LOGGER.info("Metrics at shutdown:\n{}", Metrics.getInstance().getTextSnapshot());
+        trendingTracker.shutdown();
+        AppExecutors.getInstance().shutdown();
+        HttpClientProvider.getInstance().shutdown();
     }
     
     // Inner class for library statistics
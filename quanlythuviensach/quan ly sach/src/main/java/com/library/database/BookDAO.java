@@ -1,19 +1,22 @@
 package com.library.database;
 
+import com.library.jfr.IsbnLookupEvent;
+import com.library.jfr.SearchEvent;
 import com.library.model.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Data Access Object for Book operations
  */
 public class BookDAO {
-    private static final Logger LOGGER = Logger.getLogger(BookDAO.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookDAO.class);
     private final Database database;
     
     public BookDAO() {
@@ -47,11 +50,11 @@ public class BookDAO {
                 book.isBorrowed()
             );
             
-            LOGGER.info("Book saved successfully: " + book.getTitle());
+            LOGGER.info("Book saved successfully: {}", book.getTitle());
             return result > 0;
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error saving book: " + book.getTitle(), e);
+            LOGGER.error("Error saving book: {}", book.getTitle(), e);
             return false;
         }
     }
@@ -83,15 +86,72 @@ public class BookDAO {
                 book.getIsbn()
             );
             
-            LOGGER.info("Book updated successfully: " + book.getTitle());
+            LOGGER.info("Book updated successfully: {}", book.getTitle());
             return result > 0;
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error updating book: " + book.getTitle(), e);
+            LOGGER.error("Error updating book: {}", book.getTitle(), e);
             return false;
         }
     }
     
+    /**
+     * Insert new books and refresh catalog metadata of existing ones in one
+     * transaction. Stock and borrow status of existing books are left untouched.
+     */
+    public int upsertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        
+        String sql = """
+            INSERT INTO books (isbn, title, author, publisher, publish_date, page_count, quantity,
+                              genre, language, rating, rating_count, description, is_borrowed)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(isbn) DO UPDATE SET
+                title=excluded.title, author=excluded.author, publisher=excluded.publisher,
+                publish_date=excluded.publish_date, page_count=excluded.page_count,
+                genre=excluded.genre, language=excluded.language, description=excluded.description,
+                updated_at=CURRENT_TIMESTAMP
+        """;
+        
+        List<Object[]> paramSets = new ArrayList<>(books.size());
+        for (Book book : books) {
+            paramSets.add(new Object[] {
+                book.getIsbn(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPublisher(),
+                book.getPublishDate() != null ? book.getPublishDate().toString() : null,
+                book.getPageCount(),
+                book.getSoLuong(),
+                book.getGenre(),
+                book.getLanguage(),
+                book.getRating(),
+                book.getRatingCount(),
+                book.getDescription(),
+                book.isBorrowed()
+            });
+        }
+        
+        try {
+            database.beginTransaction();
+            database.executeBatch(sql, paramSets);
+            database.commitTransaction();
+            LOGGER.info("Books upserted successfully: {}", books.size());
+            return books.size();
+            
+        } catch (SQLException e) {
+            try {
+                database.rollbackTransaction();
+            } catch (SQLException rollbackEx) {
+                LOGGER.error("Error rolling back transaction", rollbackEx);
+            }
+            LOGGER.error("Error upserting {} books", books.size(), e);
+            return 0;
+        }
+    }
+    
     /**
      * Delete a book by ISBN
      */
@@ -100,11 +160,11 @@ public class BookDAO {
         
         try {
             int result = database.executeUpdate(sql, isbn);
-            LOGGER.info("Book deleted successfully: " + isbn);
+            LOGGER.info("Book deleted successfully: {}", isbn);
             return result > 0;
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error deleting book: " + isbn, e);
+            LOGGER.error("Error deleting book: {}", isbn, e);
             return false;
         }
     }
@@ -113,17 +173,23 @@ public class BookDAO {
      * Find a book by ISBN
      */
     public Book findByIsbn(String isbn) {
+        IsbnLookupEvent event = new IsbnLookupEvent();
+        event.begin();
         String sql = "SELECT * FROM books WHERE isbn = ?";
+        Book book = null;
         
         try (ResultSet rs = database.executeQuery(sql, isbn)) {
             if (rs.next()) {
-                return mapResultSetToBook(rs);
+                book = mapResultSetToBook(rs);
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding book by ISBN: " + isbn, e);
+            LOGGER.error("Error finding book by ISBN: {}", isbn, e);
         }
         
-        return null;
+        event.isbn = isbn;
+        event.found = book != null;
+        event.commit();
+        return book;
     }
     
     /**
@@ -138,7 +204,7 @@ public class BookDAO {
                 books.add(mapResultSetToBook(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding all books", e);
+            LOGGER.error("Error finding all books", e);
         }
         
         return books;
@@ -148,6 +214,8 @@ public class BookDAO {
      * Search books by title or author
      */
     public List<Book> search(String searchTerm) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
         String sql = """
             SELECT * FROM books 
             WHERE LOWER(title) LIKE LOWER(?) OR LOWER(author) LIKE LOWER(?)
@@ -162,9 +230,13 @@ public class BookDAO {
                 books.add(mapResultSetToBook(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error searching books", e);
+            LOGGER.error("Error searching books", e);
         }
         
+        event.entity = "book";
+        event.term = searchTerm;
+        event.rowCount = books.size();
+        event.commit();
         return books;
     }
     
@@ -180,7 +252,7 @@ public class BookDAO {
                 books.add(mapResultSetToBook(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding books by genre: " + genre, e);
+            LOGGER.error("Error finding books by genre: {}", genre, e);
         }
         
         return books;
@@ -198,7 +270,7 @@ public class BookDAO {
                 books.add(mapResultSetToBook(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding available books", e);
+            LOGGER.error("Error finding available books", e);
         }
         
         return books;
@@ -214,7 +286,7 @@ public class BookDAO {
             int result = database.executeUpdate(sql, isBorrowed, isbn);
             return result > 0;
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error updating borrow status for book: " + isbn, e);
+            LOGGER.error("Error updating borrow status for book: {}", isbn, e);
             return false;
         }
     }
@@ -230,12 +302,26 @@ public class BookDAO {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting book count", e);
+            LOGGER.error("Error getting book count", e);
         }
         
         return 0;
     }
     
+    /**
+     * Whether the catalog has at least one book, without counting rows
+     */
+    public boolean hasAnyBooks() {
+        String sql = "SELECT EXISTS(SELECT 1 FROM books)";
+        
+        try (ResultSet rs = database.executeQuery(sql)) {
+            return rs.next() && rs.getInt(1) == 1;
+        } catch (SQLException e) {
+            LOGGER.error("Error checking for books", e);
+            return false;
+        }
+    }
+    
     /**
      * Get all unique genres
      */
@@ -251,16 +337,16 @@ public class BookDAO {
                 }
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting genres", e);
+            LOGGER.error("Error getting genres", e);
         }
         
         return genres;
     }
     
     /**
-     * Map ResultSet to Book object
+     * Map ResultSet to Book object. Package-private for the JMH benchmarks.
      */
-    private Book mapResultSetToBook(ResultSet rs) throws SQLException {
+    static Book mapResultSetToBook(ResultSet rs) throws SQLException {
         Book book = new Book();
         book.setIsbn(rs.getString("isbn"));
         book.setTitle(rs.getString("title"));
@@ -273,7 +359,7 @@ public class BookDAO {
                 book.setPublishDate(LocalDate.parse(publishDateStr));
             } catch (Exception e) {
                 // Handle invalid date format
-                LOGGER.warning("Invalid date format for book: " + book.getIsbn());
+                LOGGER.warn("Invalid date format for book: {}", book.getIsbn());
             }
         }
         
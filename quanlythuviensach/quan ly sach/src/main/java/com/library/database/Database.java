@@ -1,19 +1,34 @@
 package com.library.database;
 
+import com.library.jfr.DbStatementEvent;
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+import com.library.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.sql.*;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.List;
 
 /**
  * Database connection manager using SQLite
  */
 public class Database {
-    private static final String DB_NAME = "library.db";
+    /** Database file, overridable with -Dlibrary.db.path (e.g. for load tests) */
+    private static final String DB_NAME = System.getProperty("library.db.path", "library.db");
     private static final String DB_URL = "jdbc:sqlite:" + DB_NAME;
-    private static final Logger LOGGER = Logger.getLogger(Database.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(Database.class);
+    /** Time to prepare and execute; reading the rows of a query is not included */
+    private static final Timer QUERY_TIMER = Metrics.getInstance().timer("db.query");
+    private static final Timer UPDATE_TIMER = Metrics.getInstance().timer("db.update");
+    private static final Timer BATCH_TIMER = Metrics.getInstance().timer("db.batch");
+    private static final Timer COMMIT_TIMER = Metrics.getInstance().timer("db.commit");
+    private static final Counter BATCH_ROWS = Metrics.getInstance().counter("db.batch.rows");
+    private static final Counter ERRORS = Metrics.getInstance().counter("db.errors");
     
     private static Database instance;
     private Connection connection;
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog();
     
     private Database() {
         try {
@@ -22,7 +37,7 @@ public class Database {
             connect();
             createTables();
         } catch (ClassNotFoundException | SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error initializing database", e);
+            LOGGER.error("Error initializing database", e);
             throw new RuntimeException("Failed to initialize database", e);
         }
     }
@@ -55,9 +70,11 @@ public class Database {
             createUsersTable();
             createBorrowRecordsTable();
             createBookReviewsTable();
+            createTrendingTables();
+            createMetadataCacheTable();
             LOGGER.info("Database tables created successfully");
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error creating database tables", e);
+            LOGGER.error("Error creating database tables", e);
             throw new RuntimeException("Failed to create database tables", e);
         }
     }
@@ -71,6 +88,7 @@ public class Database {
                 publisher TEXT,
                 publish_date TEXT,
                 page_count INTEGER,
+                quantity INTEGER DEFAULT 1,
                 genre TEXT,
                 language TEXT,
                 rating REAL DEFAULT 0.0,
@@ -85,6 +103,23 @@ public class Database {
         try (Statement stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
+        // Databases created before the quantity column existed
+        addColumnIfMissing("books", "quantity", "INTEGER DEFAULT 1");
+    }
+    
+    private void addColumnIfMissing(String table, String column, String definition) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            LOGGER.info("Added column {}.{}", table, column);
+        }
     }
     
     private void createUsersTable() throws SQLException {
@@ -150,28 +185,144 @@ public class Database {
         }
     }
     
+    private void createTrendingTables() throws SQLException {
+        String bucketsSql = """
+            CREATE TABLE IF NOT EXISTS trending_buckets (
+                bucket_day INTEGER PRIMARY KEY,
+                sketch BLOB NOT NULL
+            )
+        """;
+        
+        String candidatesSql = """
+            CREATE TABLE IF NOT EXISTS trending_candidates (
+                isbn TEXT PRIMARY KEY,
+                last_seen_day INTEGER NOT NULL
+            )
+        """;
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(bucketsSql);
+            stmt.execute(candidatesSql);
+        }
+    }
+    
+    private void createMetadataCacheTable() throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS metadata_cache (
+                cache_key TEXT PRIMARY KEY,
+                payload TEXT NOT NULL,
+                fetched_at INTEGER NOT NULL,
+                is_negative BOOLEAN DEFAULT FALSE
+            )
+        """;
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+    
     /**
      * Execute a query and return ResultSet
      */
     public ResultSet executeQuery(String sql, Object... params) throws SQLException {
-        PreparedStatement pstmt = connection.prepareStatement(sql);
-        
-        for (int i = 0; i < params.length; i++) {
-            pstmt.setObject(i + 1, params[i]);
+        DbStatementEvent event = new DbStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            PreparedStatement pstmt = connection.prepareStatement(sql);
+            
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            
+            ResultSet rs = pstmt.executeQuery();
+            success = true;
+            return rs;
+        } catch (SQLException e) {
+            ERRORS.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            QUERY_TIMER.record(elapsed);
+            commitEvent(event, "query", sql, params.length, -1, success);
+            slowQueryLog.record(connection, sql, params, params.length, elapsed);
         }
-        
-        return pstmt.executeQuery();
     }
     
     /**
      * Execute an update query (INSERT, UPDATE, DELETE)
      */
     public int executeUpdate(String sql, Object... params) throws SQLException {
+        DbStatementEvent event = new DbStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int rows = -1;
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             for (int i = 0; i < params.length; i++) {
                 pstmt.setObject(i + 1, params[i]);
             }
-            return pstmt.executeUpdate();
+            rows = pstmt.executeUpdate();
+            return rows;
+        } catch (SQLException e) {
+            ERRORS.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            UPDATE_TIMER.record(elapsed);
+            commitEvent(event, "update", sql, params.length, rows, rows >= 0);
+            slowQueryLog.record(connection, sql, params, params.length, elapsed);
+        }
+    }
+    
+    /**
+     * Execute the same update once per parameter set as a single JDBC batch
+     */
+    public int[] executeBatch(String sql, List<Object[]> paramSets) throws SQLException {
+        DbStatementEvent event = new DbStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int[] counts = null;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Object[] params : paramSets) {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                pstmt.addBatch();
+            }
+            BATCH_ROWS.add(paramSets.size());
+            counts = pstmt.executeBatch();
+            return counts;
+        } catch (SQLException e) {
+            ERRORS.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            BATCH_TIMER.record(elapsed);
+            int bindCount = 0;
+            for (Object[] params : paramSets) {
+                bindCount += params.length;
+            }
+            int rows = 0;
+            for (int i = 0; counts != null && i < counts.length; i++) {
+                rows += Math.max(counts[i], 0);
+            }
+            commitEvent(event, "batch", sql, bindCount, counts != null ? rows : -1, counts != null);
+            // Explained with the first row's binds; the plan is the same for every row
+            slowQueryLog.record(connection, sql, paramSets.isEmpty() ? new Object[0] : paramSets.get(0),
+                bindCount, elapsed);
+        }
+    }
+    
+    private static void commitEvent(DbStatementEvent event, String kind, String sql,
+                                    int bindCount, int rowCount, boolean success) {
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.sql = sql;
+            event.bindCount = bindCount;
+            event.rowCount = rowCount;
+            event.success = success;
+            event.commit();
         }
     }
     
@@ -186,7 +337,12 @@ public class Database {
      * Commit transaction
      */
     public void commitTransaction() throws SQLException {
-        connection.commit();
+        long start = System.nanoTime();
+        try {
+            connection.commit();
+        } finally {
+            COMMIT_TIMER.recordSince(start);
+        }
         connection.setAutoCommit(true);
     }
     
@@ -208,7 +364,7 @@ public class Database {
                 LOGGER.info("Database connection closed");
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error closing database connection", e);
+            LOGGER.error("Error closing database connection", e);
         }
     }
     
@@ -0,0 +1,111 @@
+package com.library.database;
+
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Logs statements slower than library.db.slowQueryMillis (default 100; 0
+ * logs every statement, a negative value turns the log off). Statements are
+ * grouped by fingerprint, the SQL with literals replaced by ? and whitespace
+ * collapsed, and the first time a fingerprint is slow its EXPLAIN QUERY PLAN
+ * is logged too, with full table scans called out.
+ */
+class SlowQueryLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final String THRESHOLD_PROPERTY = "library.db.slowQueryMillis";
+    private static final long DEFAULT_THRESHOLD_MILLIS = 100;
+    /** Bound on cached fingerprints, in case some caller builds SQL dynamically */
+    private static final int MAX_FINGERPRINTS = 1_000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Counter SLOW_QUERIES = Metrics.getInstance().counter("db.slow");
+
+    private final long thresholdNanos;
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+
+    SlowQueryLog() {
+        long millis = Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MILLIS);
+        this.thresholdNanos = millis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Log the statement if it took longer than the threshold. params are the
+     * binds of one execution and are only used to explain the statement.
+     */
+    void record(Connection connection, String sql, Object[] params, int bindCount, long nanos) {
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        SLOW_QUERIES.increment();
+        String fingerprint = fingerprintOf(sql);
+        LOGGER.warn("Slow query {} ms, binds={}: {}",
+            TimeUnit.NANOSECONDS.toMillis(nanos), bindCount, fingerprint);
+        if (explained.add(fingerprint)) {
+            explain(connection, sql, params, fingerprint);
+        }
+    }
+
+    private String fingerprintOf(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(sql);
+            if (fingerprints.size() < MAX_FINGERPRINTS) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Normalize SQL so executions differing only in literals, IN-list length
+     * or formatting share one fingerprint
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(normalized).replaceAll("(?+)");
+    }
+
+    private void explain(Connection connection, String sql, Object[] params, String fingerprint) {
+        List<String> steps = new ArrayList<>();
+        boolean fullScan = false;
+        try (PreparedStatement pstmt = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String detail = rs.getString("detail");
+                    steps.add(detail);
+                    // "SCAN books" is a full scan, "SEARCH books USING INDEX ..." is not
+                    fullScan |= detail.startsWith("SCAN ");
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.debug("Could not explain {}", fingerprint, e);
+            return;
+        }
+        LOGGER.warn("Query plan{} for {}:{}  {}", fullScan ? " (full table scan)" : "", fingerprint,
+            System.lineSeparator(), String.join(System.lineSeparator() + "  ", steps));
+    }
+}
@@ -1,21 +1,23 @@
 package com.library.database;
 
+import com.library.jfr.SearchEvent;
 import com.library.model.Student;
 import com.library.model.Staff;
 import com.library.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Data Access Object for User operations
  */
 public class UserDAO {
-    private static final Logger LOGGER = Logger.getLogger(UserDAO.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserDAO.class);
     private final Database database;
     
     public UserDAO() {
@@ -57,11 +59,11 @@ public class UserDAO {
                 user instanceof Student ? ((Student) user).isActive() : ((Staff) user).isActive()
             );
             
-            LOGGER.info("User saved successfully: " + user.getName());
+            LOGGER.info("User saved successfully: {}", user.getName());
             return result > 0;
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error saving user: " + user.getName(), e);
+            LOGGER.error("Error saving user: {}", user.getName(), e);
             return false;
         }
     }
@@ -102,11 +104,11 @@ public class UserDAO {
                 user.getId()
             );
             
-            LOGGER.info("User updated successfully: " + user.getName());
+            LOGGER.info("User updated successfully: {}", user.getName());
             return result > 0;
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error updating user: " + user.getName(), e);
+            LOGGER.error("Error updating user: {}", user.getName(), e);
             return false;
         }
     }
@@ -119,11 +121,11 @@ public class UserDAO {
         
         try {
             int result = database.executeUpdate(sql, userId);
-            LOGGER.info("User deleted successfully: " + userId);
+            LOGGER.info("User deleted successfully: {}", userId);
             return result > 0;
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error deleting user: " + userId, e);
+            LOGGER.error("Error deleting user: {}", userId, e);
             return false;
         }
     }
@@ -139,7 +141,7 @@ public class UserDAO {
                 return mapResultSetToUser(rs);
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding user by ID: " + userId, e);
+            LOGGER.error("Error finding user by ID: {}", userId, e);
         }
         
         return null;
@@ -160,7 +162,7 @@ public class UserDAO {
                 }
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding all users", e);
+            LOGGER.error("Error finding all users", e);
         }
         
         return users;
@@ -170,6 +172,8 @@ public class UserDAO {
      * Search users by name
      */
     public List<User> search(String searchTerm) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
         String sql = """
             SELECT * FROM users 
             WHERE LOWER(name) LIKE LOWER(?) OR LOWER(id) LIKE LOWER(?)
@@ -187,9 +191,13 @@ public class UserDAO {
                 }
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error searching users", e);
+            LOGGER.error("Error searching users", e);
         }
         
+        event.entity = "user";
+        event.term = searchTerm;
+        event.rowCount = users.size();
+        event.commit();
         return users;
     }
     
@@ -208,7 +216,7 @@ public class UserDAO {
                 }
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding users by type: " + userType, e);
+            LOGGER.error("Error finding users by type: {}", userType, e);
         }
         
         return users;
@@ -229,7 +237,7 @@ public class UserDAO {
                 }
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error finding active users", e);
+            LOGGER.error("Error finding active users", e);
         }
         
         return users;
@@ -245,7 +253,7 @@ public class UserDAO {
             int result = database.executeUpdate(sql, isActive, userId);
             return result > 0;
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error updating active status for user: " + userId, e);
+            LOGGER.error("Error updating active status for user: {}", userId, e);
             return false;
         }
     }
@@ -261,7 +269,7 @@ public class UserDAO {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting user count", e);
+            LOGGER.error("Error getting user count", e);
         }
         
         return 0;
@@ -276,7 +284,7 @@ public class UserDAO {
         try (ResultSet rs = database.executeQuery(sql, userId)) {
             return rs.next();
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error checking user existence: " + userId, e);
+            LOGGER.error("Error checking user existence: {}", userId, e);
             return false;
         }
     }
@@ -297,7 +305,7 @@ public class UserDAO {
             try {
                 enrollmentHireDate = LocalDate.parse(enrollmentHireDateStr);
             } catch (Exception e) {
-                LOGGER.warning("Invalid date format for user: " + id);
+                LOGGER.warn("Invalid date format for user: {}", id);
             }
         }
         
@@ -311,7 +319,7 @@ public class UserDAO {
             return staff;
         }
         
-        LOGGER.warning("Unknown user type: " + userType + " for user: " + id);
+        LOGGER.warn("Unknown user type: {} for user: {}", userType, id);
         return null;
     }
 }
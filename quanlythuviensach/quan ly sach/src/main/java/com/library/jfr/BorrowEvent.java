@@ -0,0 +1,31 @@
+package com.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One BorrowService.borrowBook call, including rejected ones
+ */
+@Name("com.library.Borrow")
+@Label("Borrow")
+@Category({"Library", "Circulation"})
+@Description("Borrow transaction, from validation to commit")
+@Enabled(false)
+public class BorrowEvent extends Event {
+    @Label("User ID")
+    public String userId;
+
+    @Label("User Type")
+    @Description("student or staff; empty when the user was not found")
+    public String userType;
+
+    @Label("ISBN")
+    public String isbn;
+
+    @Label("Success")
+    public boolean success;
+}
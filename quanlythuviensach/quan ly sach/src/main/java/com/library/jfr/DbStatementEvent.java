@@ -0,0 +1,35 @@
+package com.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One statement run through Database. For queries the duration covers
+ * prepare and execute but not reading the rows.
+ */
+@Name("com.library.DbStatement")
+@Label("Database Statement")
+@Category({"Library", "Database"})
+@Enabled(false)
+public class DbStatementEvent extends Event {
+    @Label("Kind")
+    @Description("query, update or batch")
+    public String kind;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Bind Count")
+    public int bindCount;
+
+    @Label("Row Count")
+    @Description("Rows changed by an update or batch; -1 for queries")
+    public int rowCount;
+
+    @Label("Success")
+    public boolean success;
+}
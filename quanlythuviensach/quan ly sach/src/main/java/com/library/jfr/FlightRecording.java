@@ -0,0 +1,60 @@
+package com.library.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts a flight recording at launch when -Dlibrary.jfr=file.jfr is set.
+ * It uses the JDK default settings (GC, locks, I/O) plus the library events
+ * enabled by the bundled /jfr/library.jfc, and is written when the JVM exits.
+ */
+public final class FlightRecording {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecording.class);
+    private static final String FILE_PROPERTY = "library.jfr";
+    private static final String PROFILE = "/jfr/library.jfc";
+
+    private FlightRecording() {
+    }
+
+    public static void startIfRequested() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(libraryProfile().getSettings());
+            Recording recording = new Recording(settings);
+            recording.setName("library");
+            recording.setDestination(Path.of(file));
+            recording.setDumpOnExit(true);
+            recording.start();
+            LOGGER.info("Flight recording started, written to {} on exit", Path.of(file).toAbsolutePath());
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            LOGGER.warn("Could not start flight recording", e);
+        }
+    }
+
+    /**
+     * The bundled settings for the com.library events
+     */
+    public static Configuration libraryProfile() throws IOException, ParseException {
+        try (InputStream in = FlightRecording.class.getResourceAsStream(PROFILE)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + PROFILE);
+            }
+            return Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One BookDAO.findByIsbn call
+ */
+@Name("com.library.IsbnLookup")
+@Label("ISBN Lookup")
+@Category({"Library", "Catalog"})
+@Enabled(false)
+public class IsbnLookupEvent extends Event {
+    @Label("ISBN")
+    public String isbn;
+
+    @Label("Found")
+    public boolean found;
+}
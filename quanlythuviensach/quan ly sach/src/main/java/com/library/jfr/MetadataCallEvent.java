@@ -0,0 +1,31 @@
+package com.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One request to a remote metadata provider; cache hits are not recorded
+ */
+@Name("com.library.MetadataCall")
+@Label("Metadata Call")
+@Category({"Library", "Remote"})
+@Enabled(false)
+public class MetadataCallEvent extends Event {
+    @Label("Provider")
+    public String provider;
+
+    @Label("Query")
+    @Description("Cache key of the lookup, e.g. isbn:9780134685991")
+    public String query;
+
+    @Label("Outcome")
+    @Description("ok, error or rejected (circuit open)")
+    public String outcome;
+
+    @Label("Book Count")
+    public int bookCount;
+}
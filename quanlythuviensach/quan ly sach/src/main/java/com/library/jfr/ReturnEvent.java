@@ -0,0 +1,31 @@
+package com.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One BorrowService.returnBook call
+ */
+@Name("com.library.Return")
+@Label("Return")
+@Category({"Library", "Circulation"})
+@Description("Return transaction, including the fine calculation")
+@Enabled(false)
+public class ReturnEvent extends Event {
+    @Label("User ID")
+    public String userId;
+
+    @Label("ISBN")
+    public String isbn;
+
+    @Label("Fine Amount")
+    @Description("Fine charged in VND")
+    public double fineAmount;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,28 @@
+package com.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A catalog or member search, including mapping the rows
+ */
+@Name("com.library.Search")
+@Label("Search")
+@Category({"Library", "Catalog"})
+@Description("BookDAO.search or UserDAO.search")
+@Enabled(false)
+public class SearchEvent extends Event {
+    @Label("Entity")
+    @Description("book or user")
+    public String entity;
+
+    @Label("Term")
+    public String term;
+
+    @Label("Row Count")
+    public int rowCount;
+}
@@ -0,0 +1,29 @@
+package com.library.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+
+/**
+ * Async appender that hands events to its delegates on a background thread
+ * through a bounded queue. Once fewer than discardingThreshold slots are
+ * left, DEBUG and TRACE events are dropped (and counted as
+ * log.debug.dropped) so a burst of diagnostics never makes a checkout wait;
+ * INFO and above are always kept, blocking only when the queue is full.
+ *
+ * The stock AsyncAppender would drop INFO events as well.
+ */
+public class DebugDroppingAsyncAppender extends AsyncAppender {
+    private static final Counter DROPPED = Metrics.getInstance().counter("log.debug.dropped");
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        if (event.getLevel().toInt() <= Level.DEBUG_INT) {
+            DROPPED.increment();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Routes java.util.logging records (JavaFX, the JDK HTTP server and other
+ * libraries) to SLF4J, so everything ends up in the Logback appenders.
+ * Logback's LevelChangePropagator mirrors its levels onto JUL, so disabled
+ * JUL calls are still rejected cheaply at the call site.
+ */
+public class JulBridge extends Handler {
+    private static volatile boolean installed;
+
+    private final SimpleFormatter formatter = new SimpleFormatter();
+
+    /**
+     * Replace the JUL console handler with this bridge; later calls do nothing
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        LogManager.getLogManager().reset();
+        java.util.logging.Logger.getLogger("").addHandler(new JulBridge());
+        installed = true;
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (record == null) {
+            return;
+        }
+        Logger logger = LoggerFactory.getLogger(record.getLoggerName() != null ? record.getLoggerName() : "jul");
+        int level = record.getLevel().intValue();
+        Throwable thrown = record.getThrown();
+        if (level >= Level.SEVERE.intValue()) {
+            if (logger.isErrorEnabled()) {
+                logger.error(formatter.formatMessage(record), thrown);
+            }
+        } else if (level >= Level.WARNING.intValue()) {
+            if (logger.isWarnEnabled()) {
+                logger.warn(formatter.formatMessage(record), thrown);
+            }
+        } else if (level >= Level.INFO.intValue()) {
+            if (logger.isInfoEnabled()) {
+                logger.info(formatter.formatMessage(record), thrown);
+            }
+        } else if (level >= Level.FINE.intValue()) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(formatter.formatMessage(record), thrown);
+            }
+        } else if (logger.isTraceEnabled()) {
+            logger.trace(formatter.formatMessage(record), thrown);
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
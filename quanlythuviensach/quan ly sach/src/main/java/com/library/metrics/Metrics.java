@@ -0,0 +1,99 @@
+package com.library.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide registry of named counters and timers. Instruments look up
+ * their metric once, typically into a static final field, and only touch
+ * it on the hot path. Names are dotted by layer: db.*, borrow.*,
+ * googlebooks.*, http.*.
+ */
+public class Metrics implements MetricsMXBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+    private static final String OBJECT_NAME = "com.library:type=Metrics";
+
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private Metrics() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            LOGGER.warn("Could not register metrics MBean", e);
+        }
+    }
+
+    public static Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The counter with the given name, created on first use
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * The timer with the given name, created on first use
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    // JMX
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public List<TimerStats> getTimers() {
+        List<TimerStats> stats = new ArrayList<>();
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            stats.add(TimerStats.of(timer.snapshot()));
+        }
+        return stats;
+    }
+
+    @Override
+    public String getTextSnapshot() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-36s %10s %10s %10s %10s %10s %10s%n",
+            "timer", "count", "mean ms", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (TimerStats t : getTimers()) {
+            sb.append(String.format("%-36s %10d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                t.getName(), t.getCount(), t.getMeanMillis(), t.getP50Millis(),
+                t.getP99Millis(), t.getP999Millis(), t.getMaxMillis()));
+        }
+        sb.append(String.format("%n%-36s %10s%n", "counter", "value"));
+        getCounters().forEach((name, value) -> sb.append(String.format("%-36s %10d%n", name, value)));
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+    }
+
+    static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.library.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of the metrics registry, registered as com.library:type=Metrics
+ */
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+
+    List<TimerStats> getTimers();
+
+    /**
+     * The same table as the /api/metrics endpoint
+     */
+    String getTextSnapshot();
+
+    /**
+     * Zero all counters and timers, e.g. before a measurement window
+     */
+    void reset();
+}
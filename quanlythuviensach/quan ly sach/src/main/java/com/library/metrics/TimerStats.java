@@ -0,0 +1,45 @@
+package com.library.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Summary of one timer as exposed over JMX, with latencies in milliseconds
+ */
+public class TimerStats {
+    private final String name;
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double p999Millis;
+    private final double maxMillis;
+
+    @ConstructorProperties({"name", "count", "meanMillis", "p50Millis", "p99Millis", "p999Millis", "maxMillis"})
+    public TimerStats(String name, long count, double meanMillis, double p50Millis,
+                      double p99Millis, double p999Millis, double maxMillis) {
+        this.name = name;
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.p999Millis = p999Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    static TimerStats of(Timer.Snapshot snapshot) {
+        return new TimerStats(snapshot.getName(), snapshot.getCount(),
+            Metrics.millis(snapshot.getMeanNanos()),
+            Metrics.millis(snapshot.getValueAtPercentile(50)),
+            Metrics.millis(snapshot.getValueAtPercentile(99)),
+            Metrics.millis(snapshot.getValueAtPercentile(99.9)),
+            Metrics.millis(snapshot.getMaxNanos()));
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public double getMeanMillis() { return meanMillis; }
+    public double getP50Millis() { return p50Millis; }
+    public double getP99Millis() { return p99Millis; }
+    public double getP999Millis() { return p999Millis; }
+    public double getMaxMillis() { return maxMillis; }
+}
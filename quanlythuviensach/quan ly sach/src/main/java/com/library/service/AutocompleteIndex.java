@@ -0,0 +1,315 @@
+package com.library.service;
+
+import com.library.model.Book;
+import com.library.model.User;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory prefix index for search suggestions over book titles, authors
+ * and user IDs. Keys are normalized (lower case, Vietnamese diacritics
+ * removed) and kept in one sorted array, so a lookup is a binary search
+ * followed by a short forward scan. Titles and authors are also indexed
+ * from every word, so "potter" matches "Harry Potter".
+ *
+ * Readers work on an immutable snapshot without locking; writes build a
+ * new snapshot by merging their changes into the sorted arrays.
+ */
+public class AutocompleteIndex {
+    /** Upper bound on entries scanned per lookup, so very short prefixes stay cheap */
+    private static final int MAX_SCAN = 5_000;
+
+    public enum Kind { TITLE, AUTHOR, USER_ID }
+
+    /** Kinds offered by book search fields */
+    public static final Set<Kind> BOOK_KINDS = EnumSet.of(Kind.TITLE, Kind.AUTHOR);
+    /** Kinds offered by member ID fields */
+    public static final Set<Kind> USER_KINDS = EnumSet.of(Kind.USER_ID);
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Suggestion[0]);
+    /** Entries contributed by each book or user */
+    private final Map<String, Set<Entry>> entriesBySource = new HashMap<>();
+    /** Number of sources sharing each entry, e.g. one author across many books */
+    private final Map<Entry, Integer> refCounts = new HashMap<>();
+
+    /**
+     * Replace the whole index with the given books and users
+     */
+    public synchronized void rebuild(Collection<Book> books, Collection<User> users) {
+        entriesBySource.clear();
+        refCounts.clear();
+        for (Book book : books) {
+            register(bookSource(book.getIsbn()), bookEntries(book));
+        }
+        for (User user : users) {
+            register(userSource(user.getId()), userEntries(user));
+        }
+        List<Entry> entries = new ArrayList<>(refCounts.keySet());
+        entries.sort(null);
+        snapshot = Snapshot.of(entries);
+    }
+
+    /**
+     * Add or replace the suggestions of one book
+     */
+    public synchronized void putBook(Book book) {
+        replace(bookSource(book.getIsbn()), bookEntries(book));
+    }
+
+    public synchronized void removeBook(String isbn) {
+        replace(bookSource(isbn), Set.of());
+    }
+
+    /**
+     * Add or replace the suggestion of one user
+     */
+    public synchronized void putUser(User user) {
+        replace(userSource(user.getId()), userEntries(user));
+    }
+
+    public synchronized void removeUser(String userId) {
+        replace(userSource(userId), Set.of());
+    }
+
+    /**
+     * Up to limit distinct suggestions of the given kinds whose key starts with prefix
+     */
+    public List<Suggestion> suggest(String prefix, Set<Kind> kinds, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        Set<Suggestion> result = new LinkedHashSet<>();
+        int end = Math.min(current.keys.length, lowerBound(current.keys, key) + MAX_SCAN);
+        for (int i = lowerBound(current.keys, key); i < end && current.keys[i].startsWith(key); i++) {
+            Suggestion suggestion = current.values[i];
+            if (kinds.contains(suggestion.kind()) && result.add(suggestion) && result.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    /**
+     * Lower case, strip diacritics (including đ) and collapse whitespace
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = isPlainAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c == 'đ' || c == 'Đ' ? 'd' : Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPlainAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Entry construction
+
+    private static Set<Entry> bookEntries(Book book) {
+        Set<Entry> entries = new LinkedHashSet<>();
+        addWordEntries(entries, book.getTitle(), Kind.TITLE);
+        addWordEntries(entries, book.getAuthor(), Kind.AUTHOR);
+        return entries;
+    }
+
+    private static Set<Entry> userEntries(User user) {
+        Set<Entry> entries = new LinkedHashSet<>();
+        if (user.getId() == null || user.getId().isBlank()) {
+            return entries;
+        }
+        String label = user.getName() != null ? user.getId() + " - " + user.getName() : user.getId();
+        Suggestion suggestion = new Suggestion(Kind.USER_ID, user.getId(), label);
+        entries.add(new Entry(normalize(user.getId()), suggestion));
+        // Let clerks find a member ID by typing the member's name too
+        addWordEntries(entries, user.getName(), suggestion);
+        return entries;
+    }
+
+    private static void addWordEntries(Set<Entry> entries, String text, Kind kind) {
+        if (text != null && !text.isBlank()) {
+            addWordEntries(entries, text, new Suggestion(kind, text.trim(), text.trim()));
+        }
+    }
+
+    private static void addWordEntries(Set<Entry> entries, String text, Suggestion suggestion) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        entries.add(new Entry(key, suggestion));
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            entries.add(new Entry(key.substring(i + 1), suggestion));
+        }
+    }
+
+    private static String bookSource(String isbn) {
+        return "book:" + isbn;
+    }
+
+    private static String userSource(String userId) {
+        return "user:" + userId;
+    }
+
+    // Snapshot maintenance
+
+    /**
+     * Record a source's entries, returning those no other source had yet
+     */
+    private List<Entry> register(String source, Set<Entry> entries) {
+        List<Entry> firstSeen = new ArrayList<>();
+        if (entries.isEmpty()) {
+            return firstSeen;
+        }
+        entriesBySource.put(source, entries);
+        for (Entry entry : entries) {
+            if (refCounts.merge(entry, 1, Integer::sum) == 1) {
+                firstSeen.add(entry);
+            }
+        }
+        return firstSeen;
+    }
+
+    /**
+     * Swap the entries of one source and apply the net change to the snapshot
+     * in one pass: removed slots are found by binary search and additions are
+     * merged in at their sorted positions.
+     */
+    private void replace(String source, Set<Entry> entries) {
+        Set<Entry> old = entriesBySource.remove(source);
+        List<Entry> additions = register(source, entries);
+        List<Entry> removals = new ArrayList<>();
+        if (old != null) {
+            for (Entry entry : old) {
+                if (refCounts.merge(entry, -1, Integer::sum) == 0) {
+                    refCounts.remove(entry);
+                    removals.add(entry);
+                }
+            }
+        }
+        if (additions.isEmpty() && removals.isEmpty()) {
+            return;
+        }
+        additions.sort(null);
+
+        Snapshot current = snapshot;
+        int[] removeAt = new int[removals.size()];
+        int removeCount = 0;
+        for (Entry entry : removals) {
+            for (int i = lowerBound(current.keys, entry.key()); i < current.keys.length
+                    && current.keys[i].equals(entry.key()); i++) {
+                if (current.values[i].equals(entry.suggestion())) {
+                    removeAt[removeCount++] = i;
+                    break;
+                }
+            }
+        }
+        removeAt = Arrays.copyOf(removeAt, removeCount);
+        Arrays.sort(removeAt);
+        int[] insertAt = new int[additions.size()];
+        for (int a = 0; a < insertAt.length; a++) {
+            insertAt[a] = lowerBound(current.keys, additions.get(a).key());
+        }
+
+        int size = current.keys.length - removeCount + additions.size();
+        String[] keys = new String[size];
+        Suggestion[] values = new Suggestion[size];
+        int out = 0;
+        int r = 0;
+        int a = 0;
+        for (int i = 0; i <= current.keys.length; i++) {
+            while (a < insertAt.length && insertAt[a] == i) {
+                keys[out] = additions.get(a).key();
+                values[out++] = additions.get(a++).suggestion();
+            }
+            if (i == current.keys.length) {
+                break;
+            }
+            if (r < removeCount && removeAt[r] == i) {
+                r++;
+                continue;
+            }
+            keys[out] = current.keys[i];
+            values[out++] = current.values[i];
+        }
+        snapshot = new Snapshot(keys, values);
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A suggestion: the text to put in the search field and the label to show
+     */
+    public record Suggestion(Kind kind, String text, String label) {
+    }
+
+    private record Entry(String key, Suggestion suggestion) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            return key.compareTo(other.key);
+        }
+    }
+
+    private record Snapshot(String[] keys, Suggestion[] values) {
+        static Snapshot of(List<Entry> sorted) {
+            String[] keys = new String[sorted.size()];
+            Suggestion[] values = new Suggestion[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sorted.get(i).key();
+                values[i] = sorted.get(i).suggestion();
+            }
+            return new Snapshot(keys, values);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.service;
+
+import com.library.database.Database;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Service for loading borrow history into a columnar snapshot for reports
+ */
+public class BorrowAnalyticsService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BorrowAnalyticsService.class);
+
+    private final Database database;
+
+    public BorrowAnalyticsService() {
+        this.database = Database.getInstance();
+    }
+
+    /**
+     * Load all borrow records into a new snapshot
+     */
+    public BorrowSnapshot loadSnapshot() {
+        String sql = """
+            SELECT user_id, book_isbn, borrow_date, due_date, return_date, fine_amount
+            FROM borrow_records
+            ORDER BY record_id
+        """;
+
+        BorrowSnapshot.Builder builder = new BorrowSnapshot.Builder();
+        long start = System.nanoTime();
+
+        try (ResultSet rs = database.executeQuery(sql)) {
+            while (rs.next()) {
+                builder.add(
+                    rs.getString(1),
+                    rs.getString(2),
+                    toEpochDay(rs.getString(3)),
+                    toEpochDay(rs.getString(4)),
+                    toEpochDay(rs.getString(5)),
+                    rs.getFloat(6)
+                );
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error loading borrow snapshot", e);
+        }
+
+        BorrowSnapshot snapshot = builder.build();
+        LOGGER.info("Loaded {} in {} ms", snapshot, (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * Convert a stored timestamp to an epoch day. Both ISO_LOCAL_DATE_TIME values
+     * written by BorrowService and "yyyy-MM-dd HH:mm:ss" values produced by SQLite's
+     * datetime() start with the date, so only the first ten characters are read.
+     */
+    static int toEpochDay(String timestamp) {
+        if (timestamp == null || timestamp.length() < 10) {
+            return BorrowSnapshot.NO_DATE;
+        }
+        try {
+            int year = Integer.parseInt(timestamp, 0, 4, 10);
+            int month = Integer.parseInt(timestamp, 5, 7, 10);
+            int day = Integer.parseInt(timestamp, 8, 10, 10);
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Invalid borrow timestamp: {}", timestamp);
+            return BorrowSnapshot.NO_DATE;
+        }
+    }
+}
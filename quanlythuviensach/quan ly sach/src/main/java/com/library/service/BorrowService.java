@@ -8,6 +8,13 @@ import com.library.model.Student;
 import com.library.model.Staff;
 import com.library.database.BookDAO;
 import com.library.database.UserDAO;
+import com.library.jfr.BorrowEvent;
+import com.library.jfr.ReturnEvent;
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+import com.library.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -15,31 +22,47 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Service for managing book borrowing and returning operations
  */
 public class BorrowService {
-    private static final Logger LOGGER = Logger.getLogger(BorrowService.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(BorrowService.class);
     private static final int DEFAULT_BORROW_DAYS = 14; // Default borrowing period
     private static final double FINE_PER_DAY = 5000.0; // Fine amount per overdue day in VND
     
+    private static final Timer BORROW_TIMER = Metrics.getInstance().timer("borrow.borrowBook");
+    private static final Timer RETURN_TIMER = Metrics.getInstance().timer("borrow.returnBook");
+    private static final Timer CURRENT_BORROWS_TIMER = Metrics.getInstance().timer("borrow.getUserCurrentBorrows");
+    private static final Timer HISTORY_TIMER = Metrics.getInstance().timer("borrow.getUserBorrowHistory");
+    private static final Timer OVERDUE_TIMER = Metrics.getInstance().timer("borrow.getOverdueBooks");
+    private static final Timer ACTIVE_BORROWS_TIMER = Metrics.getInstance().timer("borrow.getAllActiveBorrows");
+    private static final Timer EXTEND_TIMER = Metrics.getInstance().timer("borrow.extendDueDate");
+    private static final Timer FINE_TIMER = Metrics.getInstance().timer("borrow.calculateUserTotalFine");
+    private static final Timer STATISTICS_TIMER = Metrics.getInstance().timer("borrow.getBorrowingStatistics");
+    private static final Counter BORROWED = Metrics.getInstance().counter("borrow.borrowed");
+    private static final Counter RETURNED = Metrics.getInstance().counter("borrow.returned");
+    private static final Counter REJECTED = Metrics.getInstance().counter("borrow.rejected");
+    
     private final Database database;
     private final BookDAO bookDAO;
     private final UserDAO userDAO;
+    private final TrendingTracker trendingTracker;
     
     public BorrowService() {
         this.database = Database.getInstance();
         this.bookDAO = new BookDAO();
         this.userDAO = new UserDAO();
+        this.trendingTracker = TrendingTracker.getInstance();
     }
     
     /**
      * Borrow a book
      */
     public boolean borrowBook(String userId, String bookIsbn) {
+        BorrowEvent event = new BorrowEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
             database.beginTransaction();
             
@@ -48,26 +71,31 @@ public class BorrowService {
             Book book = bookDAO.findByIsbn(bookIsbn);
             
             if (user == null) {
-                LOGGER.warning("User not found: " + userId);
+                LOGGER.warn("User not found: {}", userId);
+                REJECTED.increment();
                 database.rollbackTransaction();
                 return false;
             }
+            event.userType = user instanceof Staff ? "staff" : "student";
             
             if (book == null) {
-                LOGGER.warning("Book not found: " + bookIsbn);
+                LOGGER.warn("Book not found: {}", bookIsbn);
+                REJECTED.increment();
                 database.rollbackTransaction();
                 return false;
             }
             
             if (book.isBorrowed()) {
-                LOGGER.warning("Book already borrowed: " + bookIsbn);
+                LOGGER.warn("Book already borrowed: {}", bookIsbn);
+                REJECTED.increment();
                 database.rollbackTransaction();
                 return false;
             }
             
             // Check user's borrow limit
             if (!canUserBorrowMore(user)) {
-                LOGGER.warning("User reached borrow limit: " + userId);
+                LOGGER.warn("User reached borrow limit: {}", userId);
+                REJECTED.increment();
                 database.rollbackTransaction();
                 return false;
             }
@@ -90,7 +118,10 @@ public class BorrowService {
                 boolean updateResult = bookDAO.updateBorrowStatus(bookIsbn, true);
                 if (updateResult) {
                     database.commitTransaction();
-                    LOGGER.info(String.format("Book borrowed successfully: User %s borrowed %s", userId, bookIsbn));
+                    trendingTracker.recordBorrow(bookIsbn);
+                    BORROWED.increment();
+                    event.success = true;
+                    LOGGER.info("Book borrowed successfully: User {} borrowed {}", userId, bookIsbn);
                     return true;
                 } else {
                     database.rollbackTransaction();
@@ -105,10 +136,15 @@ public class BorrowService {
             try {
                 database.rollbackTransaction();
             } catch (SQLException rollbackEx) {
-                LOGGER.log(Level.SEVERE, "Error rolling back transaction", rollbackEx);
+                LOGGER.error("Error rolling back transaction", rollbackEx);
             }
-            LOGGER.log(Level.SEVERE, "Error borrowing book", e);
+            LOGGER.error("Error borrowing book", e);
             return false;
+        } finally {
+            BORROW_TIMER.recordSince(start);
+            event.userId = userId;
+            event.isbn = bookIsbn;
+            event.commit();
         }
     }
     
@@ -116,13 +152,16 @@ public class BorrowService {
      * Return a book
      */
     public boolean returnBook(String userId, String bookIsbn) {
+        ReturnEvent event = new ReturnEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
             database.beginTransaction();
             
             // Find active borrow record
             BorrowRecord record = getActiveBorrowRecord(userId, bookIsbn);
             if (record == null) {
-                LOGGER.warning("No active borrow record found for user " + userId + " and book " + bookIsbn);
+                LOGGER.warn("No active borrow record found for user {} and book {}", userId, bookIsbn);
                 database.rollbackTransaction();
                 return false;
             }
@@ -147,8 +186,11 @@ public class BorrowService {
                 boolean updateResult = bookDAO.updateBorrowStatus(bookIsbn, false);
                 if (updateResult) {
                     database.commitTransaction();
-                    LOGGER.info(String.format("Book returned successfully: User %s returned %s with fine %.2f", 
-                        userId, bookIsbn, fineAmount));
+                    RETURNED.increment();
+                    event.fineAmount = fineAmount;
+                    event.success = true;
+                    LOGGER.info("Book returned successfully: User {} returned {} with fine {}",
+                        userId, bookIsbn, fineAmount);
                     return true;
                 } else {
                     database.rollbackTransaction();
@@ -163,10 +205,15 @@ public class BorrowService {
             try {
                 database.rollbackTransaction();
             } catch (SQLException rollbackEx) {
-                LOGGER.log(Level.SEVERE, "Error rolling back transaction", rollbackEx);
+                LOGGER.error("Error rolling back transaction", rollbackEx);
             }
-            LOGGER.log(Level.SEVERE, "Error returning book", e);
+            LOGGER.error("Error returning book", e);
             return false;
+        } finally {
+            RETURN_TIMER.recordSince(start);
+            event.userId = userId;
+            event.isbn = bookIsbn;
+            event.commit();
         }
     }
     
@@ -185,7 +232,7 @@ public class BorrowService {
                 return mapResultSetToBorrowRecord(rs);
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting active borrow record", e);
+            LOGGER.error("Error getting active borrow record", e);
         }
         
         return null;
@@ -207,6 +254,7 @@ public class BorrowService {
      * Get user's current borrowed books
      */
     public List<BorrowRecord> getUserCurrentBorrows(String userId) {
+        long start = System.nanoTime();
         String sql = """
             SELECT * FROM borrow_records 
             WHERE user_id = ? AND is_returned = FALSE
@@ -220,7 +268,9 @@ public class BorrowService {
                 records.add(mapResultSetToBorrowRecord(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting user current borrows", e);
+            LOGGER.error("Error getting user current borrows", e);
+        } finally {
+            CURRENT_BORROWS_TIMER.recordSince(start);
         }
         
         return records;
@@ -230,6 +280,7 @@ public class BorrowService {
      * Get user's borrowing history
      */
     public List<BorrowRecord> getUserBorrowHistory(String userId) {
+        long start = System.nanoTime();
         String sql = """
             SELECT * FROM borrow_records 
             WHERE user_id = ?
@@ -243,7 +294,9 @@ public class BorrowService {
                 records.add(mapResultSetToBorrowRecord(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting user borrow history", e);
+            LOGGER.error("Error getting user borrow history", e);
+        } finally {
+            HISTORY_TIMER.recordSince(start);
         }
         
         return records;
@@ -253,6 +306,7 @@ public class BorrowService {
      * Get all overdue books
      */
     public List<BorrowRecord> getOverdueBooks() {
+        long start = System.nanoTime();
         String sql = """
             SELECT * FROM borrow_records 
             WHERE is_returned = FALSE AND due_date < ?
@@ -267,7 +321,9 @@ public class BorrowService {
                 records.add(mapResultSetToBorrowRecord(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting overdue books", e);
+            LOGGER.error("Error getting overdue books", e);
+        } finally {
+            OVERDUE_TIMER.recordSince(start);
         }
         
         return records;
@@ -277,6 +333,7 @@ public class BorrowService {
      * Get all active borrow records
      */
     public List<BorrowRecord> getAllActiveBorrows() {
+        long start = System.nanoTime();
         String sql = """
             SELECT * FROM borrow_records 
             WHERE is_returned = FALSE
@@ -290,7 +347,9 @@ public class BorrowService {
                 records.add(mapResultSetToBorrowRecord(rs));
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting all active borrows", e);
+            LOGGER.error("Error getting all active borrows", e);
+        } finally {
+            ACTIVE_BORROWS_TIMER.recordSince(start);
         }
         
         return records;
@@ -300,6 +359,7 @@ public class BorrowService {
      * Extend due date for a borrow record
      */
     public boolean extendDueDate(int recordId, int additionalDays) {
+        long start = System.nanoTime();
         String sql = """
             UPDATE borrow_records 
             SET due_date = datetime(due_date, '+' || ? || ' days')
@@ -309,11 +369,13 @@ public class BorrowService {
         try {
             int result = database.executeUpdate(sql, additionalDays, recordId);
             if (result > 0) {
-                LOGGER.info("Due date extended for record: " + recordId);
+                LOGGER.info("Due date extended for record: {}", recordId);
                 return true;
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error extending due date", e);
+            LOGGER.error("Error extending due date", e);
+        } finally {
+            EXTEND_TIMER.recordSince(start);
         }
         
         return false;
@@ -323,6 +385,7 @@ public class BorrowService {
      * Calculate total fine for a user
      */
     public double calculateUserTotalFine(String userId) {
+        long start = System.nanoTime();
         String sql = """
             SELECT SUM(fine_amount) FROM borrow_records 
             WHERE user_id = ? AND fine_amount > 0
@@ -333,7 +396,9 @@ public class BorrowService {
                 return rs.getDouble(1);
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error calculating user total fine", e);
+            LOGGER.error("Error calculating user total fine", e);
+        } finally {
+            FINE_TIMER.recordSince(start);
         }
         
         return 0.0;
@@ -343,6 +408,7 @@ public class BorrowService {
      * Get borrowing statistics
      */
     public BorrowStatistics getBorrowingStatistics() {
+        long start = System.nanoTime();
         BorrowStatistics stats = new BorrowStatistics();
         
         try {
@@ -375,16 +441,18 @@ public class BorrowService {
             }
             
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error getting borrowing statistics", e);
+            LOGGER.error("Error getting borrowing statistics", e);
+        } finally {
+            STATISTICS_TIMER.recordSince(start);
         }
         
         return stats;
     }
     
     /**
-     * Map ResultSet to BorrowRecord object
+     * Map ResultSet to BorrowRecord object. Package-private for the JMH benchmarks.
      */
-    private BorrowRecord mapResultSetToBorrowRecord(ResultSet rs) throws SQLException {
+    static BorrowRecord mapResultSetToBorrowRecord(ResultSet rs) throws SQLException {
         BorrowRecord record = new BorrowRecord();
         record.setRecordId(rs.getInt("record_id"));
         record.setUserId(rs.getString("user_id"));
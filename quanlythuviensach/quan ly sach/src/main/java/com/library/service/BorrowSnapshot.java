@@ -0,0 +1,405 @@
+package com.library.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar snapshot of borrow_records for in-memory reporting.
+ * Each loan is one row index into parallel primitive arrays; user IDs and
+ * ISBNs are dictionary-encoded and dates are stored as epoch days.
+ */
+public class BorrowSnapshot {
+    /** Epoch-day value used for a missing date (e.g. a loan not yet returned) */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int MIN_ROWS_PER_CHUNK = 1 << 16;
+
+    private final int size;
+    private final int[] userIndex;
+    private final int[] bookIndex;
+    private final int[] borrowDay;
+    private final int[] dueDay;
+    private final int[] returnDay;
+    private final float[] fine;
+
+    private final String[] userIds;
+    private final String[] bookIsbns;
+    private final Map<String, Integer> userDictionary;
+    private final Map<String, Integer> bookDictionary;
+
+    BorrowSnapshot(int size, int[] userIndex, int[] bookIndex, int[] borrowDay, int[] dueDay,
+                   int[] returnDay, float[] fine, String[] userIds, String[] bookIsbns,
+                   Map<String, Integer> userDictionary, Map<String, Integer> bookDictionary) {
+        this.size = size;
+        this.userIndex = userIndex;
+        this.bookIndex = bookIndex;
+        this.borrowDay = borrowDay;
+        this.dueDay = dueDay;
+        this.returnDay = returnDay;
+        this.fine = fine;
+        this.userIds = userIds;
+        this.bookIsbns = bookIsbns;
+        this.userDictionary = userDictionary;
+        this.bookDictionary = bookDictionary;
+    }
+
+    // Dimensions and dictionaries
+
+    public int size() { return size; }
+
+    public int userCount() { return userIds.length; }
+
+    public int bookCount() { return bookIsbns.length; }
+
+    public String userId(int userIdx) { return userIds[userIdx]; }
+
+    public String bookIsbn(int bookIdx) { return bookIsbns[bookIdx]; }
+
+    /**
+     * Dictionary index of a user ID, or -1 if the user has no loans in the snapshot
+     */
+    public int indexOfUser(String userId) {
+        Integer idx = userDictionary.get(userId);
+        return idx != null ? idx : -1;
+    }
+
+    /**
+     * Dictionary index of an ISBN, or -1 if the book has no loans in the snapshot
+     */
+    public int indexOfBook(String isbn) {
+        Integer idx = bookDictionary.get(isbn);
+        return idx != null ? idx : -1;
+    }
+
+    // Column access by row
+
+    public int userIndex(int row) { return userIndex[row]; }
+
+    public int bookIndex(int row) { return bookIndex[row]; }
+
+    public int borrowDay(int row) { return borrowDay[row]; }
+
+    public int dueDay(int row) { return dueDay[row]; }
+
+    public int returnDay(int row) { return returnDay[row]; }
+
+    public float fine(int row) { return fine[row]; }
+
+    /**
+     * Smallest borrow epoch day in the snapshot, or NO_DATE when empty
+     */
+    public int minBorrowDay() {
+        return size == 0 ? NO_DATE : IntStream.range(0, size).parallel().map(r -> borrowDay[r]).min().getAsInt();
+    }
+
+    /**
+     * Largest borrow epoch day in the snapshot, or NO_DATE when empty
+     */
+    public int maxBorrowDay() {
+        return size == 0 ? NO_DATE : IntStream.range(0, size).parallel().map(r -> borrowDay[r]).max().getAsInt();
+    }
+
+    // Filters
+
+    public IntPredicate all() {
+        return row -> true;
+    }
+
+    /**
+     * Loans borrowed in [from, to)
+     */
+    public IntPredicate borrowedBetween(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        return row -> borrowDay[row] >= fromDay && borrowDay[row] < toDay;
+    }
+
+    /**
+     * Loans still out at the end of the given day
+     */
+    public IntPredicate openOn(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        return row -> borrowDay[row] <= day && (returnDay[row] == NO_DATE || returnDay[row] > day);
+    }
+
+    /**
+     * Loans still out and past their due date on the given day
+     */
+    public IntPredicate overdueOn(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        return openOn(date).and(row -> dueDay[row] < day);
+    }
+
+    public IntPredicate returned() {
+        return row -> returnDay[row] != NO_DATE;
+    }
+
+    public IntPredicate returnedLate() {
+        return row -> returnDay[row] != NO_DATE && returnDay[row] > dueDay[row];
+    }
+
+    public IntPredicate forUser(String userId) {
+        int idx = indexOfUser(userId);
+        return row -> userIndex[row] == idx;
+    }
+
+    public IntPredicate forBook(String isbn) {
+        int idx = indexOfBook(isbn);
+        return row -> bookIndex[row] == idx;
+    }
+
+    // Group keys
+
+    public IntUnaryOperator byUser() {
+        return row -> userIndex[row];
+    }
+
+    public IntUnaryOperator byBook() {
+        return row -> bookIndex[row];
+    }
+
+    /**
+     * Group by borrow day relative to origin; rows before origin map to -1 and are skipped
+     */
+    public IntUnaryOperator byBorrowDay(LocalDate origin) {
+        int originDay = (int) origin.toEpochDay();
+        return row -> borrowDay[row] >= originDay ? borrowDay[row] - originDay : -1;
+    }
+
+    /**
+     * Group by borrow month relative to origin's month; rows before origin map to -1
+     */
+    public IntUnaryOperator byBorrowMonth(LocalDate origin) {
+        int originMonth = origin.getYear() * 12 + origin.getMonthValue() - 1;
+        return row -> {
+            int month = epochMonth(borrowDay[row]) - originMonth;
+            return month >= 0 ? month : -1;
+        };
+    }
+
+    /**
+     * Months since year 0 for an epoch day, using the same civil-calendar
+     * arithmetic as LocalDate.ofEpochDay but without allocating
+     */
+    static int epochMonth(int epochDay) {
+        long zeroDay = epochDay + 719528L - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / 146097 - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * 146097;
+        }
+        long yearEst = (400 * zeroDay + 591) / 146097;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        int marchMonth0 = ((int) doyEst * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12;
+        yearEst += marchMonth0 / 10;
+        return (int) yearEst * 12 + month;
+    }
+
+    // Operators
+
+    /**
+     * Count rows matching filter
+     */
+    public long count(IntPredicate filter) {
+        return IntStream.range(0, size).parallel().filter(filter).count();
+    }
+
+    /**
+     * Row indexes matching filter, in ascending order
+     */
+    public int[] select(IntPredicate filter) {
+        return IntStream.range(0, size).parallel().filter(filter).toArray();
+    }
+
+    /**
+     * Sum of fines over rows matching filter
+     */
+    public double sumFine(IntPredicate filter) {
+        return IntStream.range(0, size).parallel().filter(filter).mapToDouble(r -> fine[r]).sum();
+    }
+
+    public long[] countByUser(IntPredicate filter) {
+        return groupCount(filter, byUser(), userCount());
+    }
+
+    public long[] countByBook(IntPredicate filter) {
+        return groupCount(filter, byBook(), bookCount());
+    }
+
+    public double[] sumFineByUser(IntPredicate filter) {
+        return groupSumFine(filter, byUser(), userCount());
+    }
+
+    /**
+     * Count matching rows per group key in [0, cardinality); keys outside that range are skipped
+     */
+    public long[] groupCount(IntPredicate filter, IntUnaryOperator key, int cardinality) {
+        return chunks()
+            .mapToObj(chunk -> {
+                long[] partial = new long[cardinality];
+                int end = chunkEnd(chunk);
+                for (int row = chunkStart(chunk); row < end; row++) {
+                    if (filter.test(row)) {
+                        int k = key.applyAsInt(row);
+                        if (k >= 0 && k < cardinality) {
+                            partial[k]++;
+                        }
+                    }
+                }
+                return partial;
+            })
+            .reduce(BorrowSnapshot::mergeCounts)
+            .orElseGet(() -> new long[cardinality]);
+    }
+
+    /**
+     * Sum fines of matching rows per group key in [0, cardinality); keys outside that range are skipped
+     */
+    public double[] groupSumFine(IntPredicate filter, IntUnaryOperator key, int cardinality) {
+        return chunks()
+            .mapToObj(chunk -> {
+                double[] partial = new double[cardinality];
+                int end = chunkEnd(chunk);
+                for (int row = chunkStart(chunk); row < end; row++) {
+                    if (filter.test(row)) {
+                        int k = key.applyAsInt(row);
+                        if (k >= 0 && k < cardinality) {
+                            partial[k] += fine[row];
+                        }
+                    }
+                }
+                return partial;
+            })
+            .reduce(BorrowSnapshot::mergeSums)
+            .orElseGet(() -> new double[cardinality]);
+    }
+
+    /**
+     * Indexes of the k largest values in counts, largest first; zero counts are left out
+     */
+    public static int[] topK(long[] counts, int k) {
+        return IntStream.range(0, counts.length)
+            .filter(i -> counts[i] > 0)
+            .boxed()
+            .sorted((a, b) -> Long.compare(counts[b], counts[a]))
+            .limit(k)
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    // Chunked parallel scan helpers
+
+    private int chunkCount() {
+        int byRows = (size + MIN_ROWS_PER_CHUNK - 1) / MIN_ROWS_PER_CHUNK;
+        return Math.max(1, Math.min(byRows, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    private IntStream chunks() {
+        int count = chunkCount();
+        IntStream stream = IntStream.range(0, count);
+        return count > 1 ? stream.parallel() : stream;
+    }
+
+    private int chunkStart(int chunk) {
+        return (int) ((long) size * chunk / chunkCount());
+    }
+
+    private int chunkEnd(int chunk) {
+        return (int) ((long) size * (chunk + 1) / chunkCount());
+    }
+
+    private static long[] mergeCounts(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private static double[] mergeSums(double[] a, double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BorrowSnapshot{rows=%d, users=%d, books=%d}", size, userCount(), bookCount());
+    }
+
+    /**
+     * Growable column buffers used while reading rows from the database
+     */
+    static class Builder {
+        private int size;
+        private int[] userIndex = new int[1024];
+        private int[] bookIndex = new int[1024];
+        private int[] borrowDay = new int[1024];
+        private int[] dueDay = new int[1024];
+        private int[] returnDay = new int[1024];
+        private float[] fine = new float[1024];
+
+        private final Map<String, Integer> userDictionary = new HashMap<>();
+        private final Map<String, Integer> bookDictionary = new HashMap<>();
+
+        void add(String userId, String isbn, int borrow, int due, int ret, float fineAmount) {
+            if (size == userIndex.length) {
+                int capacity = size * 2;
+                userIndex = Arrays.copyOf(userIndex, capacity);
+                bookIndex = Arrays.copyOf(bookIndex, capacity);
+                borrowDay = Arrays.copyOf(borrowDay, capacity);
+                dueDay = Arrays.copyOf(dueDay, capacity);
+                returnDay = Arrays.copyOf(returnDay, capacity);
+                fine = Arrays.copyOf(fine, capacity);
+            }
+            userIndex[size] = encode(userDictionary, userId);
+            bookIndex[size] = encode(bookDictionary, isbn);
+            borrowDay[size] = borrow;
+            dueDay[size] = due;
+            returnDay[size] = ret;
+            fine[size] = fineAmount;
+            size++;
+        }
+
+        BorrowSnapshot build() {
+            return new BorrowSnapshot(size,
+                Arrays.copyOf(userIndex, size),
+                Arrays.copyOf(bookIndex, size),
+                Arrays.copyOf(borrowDay, size),
+                Arrays.copyOf(dueDay, size),
+                Arrays.copyOf(returnDay, size),
+                Arrays.copyOf(fine, size),
+                decode(userDictionary),
+                decode(bookDictionary),
+                Map.copyOf(userDictionary),
+                Map.copyOf(bookDictionary));
+        }
+
+        private static int encode(Map<String, Integer> dictionary, String value) {
+            Integer idx = dictionary.get(value);
+            if (idx == null) {
+                idx = dictionary.size();
+                dictionary.put(value, idx);
+            }
+            return idx;
+        }
+
+        private static String[] decode(Map<String, Integer> dictionary) {
+            String[] values = new String[dictionary.size()];
+            dictionary.forEach((value, idx) -> values[idx] = value);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.library.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item-item co-borrow index ("patrons who borrowed this also borrowed").
+ * Pair counts are kept in a sparse primitive hash map per book and the
+ * top-K neighbors of every book are maintained eagerly, so lookups only
+ * copy a short int array.
+ */
+public class CoBorrowIndex {
+    /** Only the most recent loans of a user contribute pairs, bounding the quadratic cost */
+    private static final int MAX_USER_HISTORY = 200;
+
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> bookDictionary = new HashMap<>();
+    private final List<String> bookIsbns = new ArrayList<>();
+    private final Map<String, IntList> userHistories = new HashMap<>();
+
+    private IntCounter[] pairCounts = new IntCounter[0];
+    private int[][] topNeighbors = new int[0][];
+    private int[][] topCounts = new int[0][];
+
+    public CoBorrowIndex(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Build an index from every loan in a borrow snapshot
+     */
+    public static CoBorrowIndex build(BorrowSnapshot snapshot, int topK) {
+        CoBorrowIndex index = new CoBorrowIndex(topK);
+        index.ensureBookCapacity(snapshot.bookCount());
+        for (int b = 0; b < snapshot.bookCount(); b++) {
+            index.bookIndexOf(snapshot.bookIsbn(b));
+        }
+
+        // Bucket rows by user (counting sort), keeping borrow order within a user
+        int users = snapshot.userCount();
+        int[] offsets = new int[users + 1];
+        for (int row = 0; row < snapshot.size(); row++) {
+            offsets[snapshot.userIndex(row) + 1]++;
+        }
+        for (int u = 0; u < users; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] rowsByUser = new int[snapshot.size()];
+        int[] cursor = Arrays.copyOf(offsets, users);
+        for (int row = 0; row < snapshot.size(); row++) {
+            rowsByUser[cursor[snapshot.userIndex(row)]++] = row;
+        }
+
+        for (int u = 0; u < users; u++) {
+            IntList history = new IntList();
+            int from = Math.max(offsets[u], offsets[u + 1] - MAX_USER_HISTORY);
+            for (int i = from; i < offsets[u + 1]; i++) {
+                int book = snapshot.bookIndex(rowsByUser[i]);
+                if (!history.contains(book)) {
+                    history.add(book);
+                }
+            }
+            for (int i = 0; i < history.size(); i++) {
+                for (int j = i + 1; j < history.size(); j++) {
+                    index.pairCounts[history.get(i)].increment(history.get(j));
+                    index.pairCounts[history.get(j)].increment(history.get(i));
+                }
+            }
+            index.userHistories.put(snapshot.userId(u), history);
+        }
+
+        for (int b = 0; b < index.bookIsbns.size(); b++) {
+            index.rebuildTop(b);
+        }
+        return index;
+    }
+
+    /**
+     * Add a new loan, updating pair counts and top-K lists of the affected books
+     */
+    public void recordLoan(String userId, String isbn) {
+        lock.writeLock().lock();
+        try {
+            int book = bookIndexOf(isbn);
+            IntList history = userHistories.computeIfAbsent(userId, id -> new IntList());
+            if (history.contains(book)) {
+                return;
+            }
+            int from = Math.max(0, history.size() - MAX_USER_HISTORY + 1);
+            for (int i = from; i < history.size(); i++) {
+                int other = history.get(i);
+                offerNeighbor(book, other, pairCounts[book].increment(other));
+                offerNeighbor(other, book, pairCounts[other].increment(book));
+            }
+            history.add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ISBNs most often borrowed by patrons who also borrowed the given book
+     */
+    public List<String> getAlsoBorrowed(String isbn, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer book = bookDictionary.get(isbn);
+            if (book == null) {
+                return List.of();
+            }
+            int[] neighbors = topNeighbors[book];
+            int n = Math.min(limit, neighbors.length);
+            List<String> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                result.add(bookIsbns.get(neighbors[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct books in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bookIsbns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int bookIndexOf(String isbn) {
+        Integer idx = bookDictionary.get(isbn);
+        if (idx == null) {
+            idx = bookIsbns.size();
+            bookDictionary.put(isbn, idx);
+            bookIsbns.add(isbn);
+            ensureBookCapacity(idx + 1);
+        }
+        return idx;
+    }
+
+    private void ensureBookCapacity(int capacity) {
+        int old = pairCounts.length;
+        if (capacity <= old) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, old * 2);
+        pairCounts = Arrays.copyOf(pairCounts, newCapacity);
+        topNeighbors = Arrays.copyOf(topNeighbors, newCapacity);
+        topCounts = Arrays.copyOf(topCounts, newCapacity);
+        for (int i = old; i < newCapacity; i++) {
+            pairCounts[i] = new IntCounter();
+            topNeighbors[i] = new int[0];
+            topCounts[i] = new int[0];
+        }
+    }
+
+    /**
+     * Recompute the top-K list of a book from its full pair counts
+     */
+    private void rebuildTop(int book) {
+        IntCounter counts = pairCounts[book];
+        int[] neighbors = new int[0];
+        int[] values = new int[0];
+        for (int slot = 0; slot < counts.keys.length; slot++) {
+            if (counts.keys[slot] != IntCounter.EMPTY) {
+                int[][] updated = insertTop(neighbors, values, counts.keys[slot], counts.values[slot]);
+                neighbors = updated[0];
+                values = updated[1];
+            }
+        }
+        topNeighbors[book] = neighbors;
+        topCounts[book] = values;
+    }
+
+    /**
+     * Update a book's top-K list after one neighbor's count changed
+     */
+    private void offerNeighbor(int book, int neighbor, int count) {
+        int[] neighbors = topNeighbors[book];
+        int[] values = topCounts[book];
+        for (int i = 0; i < neighbors.length; i++) {
+            if (neighbors[i] == neighbor) {
+                values[i] = count;
+                // Counts only grow, so bubble the entry towards the front
+                while (i > 0 && values[i - 1] < values[i]) {
+                    swap(neighbors, i, i - 1);
+                    swap(values, i, i - 1);
+                    i--;
+                }
+                return;
+            }
+        }
+        int[][] updated = insertTop(neighbors, values, neighbor, count);
+        topNeighbors[book] = updated[0];
+        topCounts[book] = updated[1];
+    }
+
+    /**
+     * Insert (neighbor, count) into a descending top list capped at topK entries
+     */
+    private int[][] insertTop(int[] neighbors, int[] values, int neighbor, int count) {
+        int n = neighbors.length;
+        if (n == topK && (n == 0 || values[n - 1] >= count)) {
+            return new int[][] {neighbors, values};
+        }
+        int pos = n;
+        while (pos > 0 && values[pos - 1] < count) {
+            pos--;
+        }
+        int newLength = Math.min(n + 1, topK);
+        int[] newNeighbors = new int[newLength];
+        int[] newValues = new int[newLength];
+        System.arraycopy(neighbors, 0, newNeighbors, 0, pos);
+        System.arraycopy(values, 0, newValues, 0, pos);
+        newNeighbors[pos] = neighbor;
+        newValues[pos] = count;
+        System.arraycopy(neighbors, pos, newNeighbors, pos + 1, newLength - pos - 1);
+        System.arraycopy(values, pos, newValues, pos + 1, newLength - pos - 1);
+        return new int[][] {newNeighbors, newValues};
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * Open-addressing int to int counter map
+     */
+    private static class IntCounter {
+        static final int EMPTY = -1;
+
+        int[] keys = new int[0];
+        int[] values = new int[0];
+        int size;
+
+        int increment(int key) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(Math.max(8, keys.length * 2));
+            }
+            int slot = slotOf(keys, key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            return ++values[slot];
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slotOf(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slotOf(int[] keys, int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Minimal growable int array
+     */
+    private static class IntList {
+        private int[] items = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        int get(int i) { return items[i]; }
+
+        int size() { return size; }
+
+        boolean contains(int value) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.library.service;
+
+import com.library.model.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Queries several metadata providers in parallel and merges their answers
+ * field by field, preferring providers earlier in the list. The lookup
+ * completes as soon as the answers received so far form a complete
+ * record, so its latency is set by the fastest good source; otherwise it
+ * completes with the best merge once every provider has answered or
+ * timed out.
+ */
+public class CompositeMetadataProvider implements MetadataProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompositeMetadataProvider.class);
+    private static final Duration DEFAULT_PROVIDER_TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<MetadataProvider> providers;
+    private final long providerTimeoutMillis;
+
+    /**
+     * @param providers providers in priority order, highest first
+     */
+    public CompositeMetadataProvider(List<MetadataProvider> providers) {
+        this(providers, DEFAULT_PROVIDER_TIMEOUT);
+    }
+
+    public CompositeMetadataProvider(List<MetadataProvider> providers, Duration providerTimeout) {
+        this.providers = List.copyOf(providers);
+        this.providerTimeoutMillis = providerTimeout.toMillis();
+    }
+
+    @Override
+    public String getName() {
+        return "composite";
+    }
+
+    @Override
+    public CompletableFuture<Book> lookupByIsbn(String isbn) {
+        CompletableFuture<Book> result = new CompletableFuture<>();
+        Lookup lookup = new Lookup(isbn, result);
+        for (int i = 0; i < providers.size(); i++) {
+            int priority = i;
+            MetadataProvider provider = providers.get(i);
+            CompletableFuture<Book> answer;
+            try {
+                answer = provider.lookupByIsbn(isbn);
+            } catch (RuntimeException e) {
+                answer = CompletableFuture.failedFuture(e);
+            }
+            answer.completeOnTimeout(null, providerTimeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    LOGGER.warn("Metadata provider {} failed for {}", provider.getName(), isbn, e);
+                    return null;
+                })
+                .thenAccept(book -> lookup.onAnswer(priority, book));
+        }
+        return result;
+    }
+
+    /**
+     * Answers collected for one ISBN lookup
+     */
+    private class Lookup {
+        private final String isbn;
+        private final CompletableFuture<Book> result;
+        private final Book[] answers = new Book[providers.size()];
+        private int pending = providers.size();
+
+        Lookup(String isbn, CompletableFuture<Book> result) {
+            this.isbn = isbn;
+            this.result = result;
+            if (pending == 0) {
+                result.complete(null);
+            }
+        }
+
+        synchronized void onAnswer(int priority, Book book) {
+            answers[priority] = book;
+            pending--;
+            if (result.isDone()) {
+                return;
+            }
+            Book merged = merge(isbn, answers);
+            if (merged != null && isComplete(merged)) {
+                result.complete(merged);
+            } else if (pending == 0) {
+                result.complete(merged);
+            }
+        }
+    }
+
+    /**
+     * Merge answers field by field; the first non-empty value in priority order wins
+     */
+    static Book merge(String isbn, Book[] answers) {
+        boolean any = false;
+        for (Book answer : answers) {
+            any |= answer != null;
+        }
+        if (!any) {
+            return null;
+        }
+
+        Book merged = new Book();
+        merged.setIsbn(first(answers, Book::getIsbn));
+        if (merged.getIsbn() == null) {
+            merged.setIsbn(isbn);
+        }
+        merged.setTitle(first(answers, Book::getTitle));
+        merged.setAuthor(first(answers, Book::getAuthor));
+        merged.setPublisher(first(answers, Book::getPublisher));
+        merged.setPublishDate(first(answers, Book::getPublishDate));
+        Integer pageCount = first(answers, book -> book.getPageCount() > 0 ? book.getPageCount() : null);
+        merged.setPageCount(pageCount != null ? pageCount : 0);
+        merged.setGenre(first(answers, Book::getGenre));
+        merged.setLanguage(first(answers, Book::getLanguage));
+        merged.setDescription(first(answers, Book::getDescription));
+        return merged;
+    }
+
+    private static <T> T first(Book[] answers, Function<Book, T> field) {
+        for (Book answer : answers) {
+            if (answer == null) {
+                continue;
+            }
+            T value = field.apply(answer);
+            if (value != null && !(value instanceof String s && s.isBlank())) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether a record has every field the catalog displays
+     */
+    static boolean isComplete(Book book) {
+        return !isBlank(book.getTitle()) && !isBlank(book.getAuthor()) && !isBlank(book.getPublisher())
+            && book.getPublishDate() != null && book.getPageCount() > 0 && !isBlank(book.getGenre())
+            && !isBlank(book.getLanguage()) && !isBlank(book.getDescription());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,62 +1,173 @@
 package com.library.service;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.library.database.BookDAO;
+import com.library.jfr.MetadataCallEvent;
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+import com.library.metrics.Timer;
 import com.library.model.Book;
+import com.library.utils.AppExecutors;
+import com.library.utils.CircuitBreaker;
+import com.library.utils.HttpClientProvider;
+import com.library.utils.JsonUtils;
+import com.library.utils.SingleFlight;
+import com.library.utils.TokenBucket;
+import okhttp3.CacheControl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Service for integrating with Google Books API
  */
-public class GoogleBooksService {
-    private static final Logger LOGGER = Logger.getLogger(GoogleBooksService.class.getName());
+public class GoogleBooksService implements MetadataProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GoogleBooksService.class);
     private static final String GOOGLE_BOOKS_API_URL = "https://www.googleapis.com/books/v1/volumes";
     private static final String API_KEY = ""; // Add your API key here if needed
+    private static final int MAX_SEARCH_RESULTS = 10;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+    private static final int CIRCUIT_FAILURE_THRESHOLD = 5;
+    private static final Duration CIRCUIT_OPEN_DURATION = Duration.ofSeconds(30);
+    /** Treats any stored HTTP response as stale, so OkHttp revalidates it with If-None-Match */
+    private static final CacheControl REVALIDATE = new CacheControl.Builder().maxAge(0, TimeUnit.SECONDS).build();
+    /** Unread bytes worth finishing so the HTTP cache can store a response (about one volume) */
+    private static final int MAX_DRAIN_BYTES = 16 * 1024;
     
+    /** Request, parse and cache store of one API call; circuit rejections are counted by the breaker */
+    private static final Timer REQUEST_TIMER = Metrics.getInstance().timer("googlebooks.request");
+    private static final Counter CACHE_HITS = Metrics.getInstance().counter("googlebooks.cache.hit");
+    private static final Counter ERRORS = Metrics.getInstance().counter("googlebooks.errors");
+    private static final Counter FALLBACKS = Metrics.getInstance().counter("googlebooks.fallback");
+    
+    private final String apiUrl;
     private final OkHttpClient httpClient;
+    private final MetadataCache cache;
+    private final Executor executor;
+    private final SingleFlight<String, Book[]> inFlight;
+    private final CircuitBreaker circuitBreaker;
+    private final BookDAO bookDAO;
+    private final Executor dbExecutor;
     
     public GoogleBooksService() {
-        this.httpClient = new OkHttpClient();
+        this(GOOGLE_BOOKS_API_URL);
+    }
+    
+    /**
+     * Create a service against a different volumes endpoint, e.g. a local stub server
+     */
+    public GoogleBooksService(String apiUrl) {
+        this(apiUrl, HttpClientProvider.getInstance().client(), AppExecutors.getInstance().http());
+    }
+    
+    /**
+     * Create a service with its own HTTP client and executor for blocking requests
+     */
+    public GoogleBooksService(String apiUrl, OkHttpClient httpClient, Executor executor) {
+        this.apiUrl = apiUrl;
+        this.httpClient = httpClient;
+        this.cache = new MetadataCache();
+        this.executor = executor;
+        this.inFlight = new SingleFlight<>();
+        this.circuitBreaker = new CircuitBreaker("google-books", "googlebooks.circuit", CIRCUIT_FAILURE_THRESHOLD,
+            CIRCUIT_OPEN_DURATION);
+        this.bookDAO = new BookDAO();
+        this.dbExecutor = AppExecutors.getInstance().db();
+    }
+    
+    @Override
+    public String getName() {
+        return "google-books";
+    }
+    
+    @Override
+    public CompletableFuture<Book> lookupByIsbn(String isbn) {
+        return searchByIsbn(isbn);
     }
     
     /**
      * Search books by ISBN asynchronously
      */
     public CompletableFuture<Book> searchByIsbn(String isbn) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = GOOGLE_BOOKS_API_URL + "?q=isbn:" + isbn;
-                if (!API_KEY.isEmpty()) {
-                    url += "&key=" + API_KEY;
-                }
-                
-                Request request = new Request.Builder()
-                    .url(url)
-                    .build();
-                
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        String jsonResponse = response.body().string();
-                        return parseBookFromJson(jsonResponse, isbn);
-                    } else {
-                        LOGGER.warning("Google Books API request failed: " + response.code());
-                        return null;
-                    }
-                }
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error searching book by ISBN: " + isbn, e);
-                return null;
+        String cacheKey = "isbn:" + normalizeIsbn(isbn);
+        return cachedOrFetch(cacheKey, () -> fetchIsbn(cacheKey, isbn, null, null))
+            .exceptionallyCompose(e -> {
+                logFailure("Error searching book by ISBN: " + isbn, e);
+                return fallback(cacheKey, () -> {
+                    Book local = bookDAO.findByIsbn(isbn);
+                    return local != null ? List.of(local) : List.of();
+                });
+            })
+            .thenApply(books -> books.length > 0 ? books[0] : null);
+    }
+    
+    /**
+     * Look up a book by ISBN on the calling thread. Returns null when the API
+     * has no match and throws IOException when the request itself fails, so
+     * callers can tell misses from errors worth retrying.
+     */
+    public Book fetchByIsbn(String isbn) throws IOException {
+        return fetchByIsbn(isbn, null);
+    }
+    
+    /**
+     * Look up a book by ISBN on the calling thread, taking a permit from the
+     * rate limiter only when the lookup goes to the network. Cache hits,
+     * including cached misses, never wait for a permit.
+     */
+    public Book fetchByIsbn(String isbn, TokenBucket rateLimiter) throws IOException {
+        String cacheKey = "isbn:" + normalizeIsbn(isbn);
+        Book[] books;
+        try {
+            books = cachedOrFetch(cacheKey, () -> fetchIsbn(cacheKey, isbn, null, rateLimiter)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
             }
+            throw e;
+        }
+        return books.length > 0 ? books[0] : null;
+    }
+    
+    /**
+     * Re-fetch metadata for an ISBN, bypassing the metadata cache. The HTTP
+     * cache revalidates its stored copy with the server, so an unchanged
+     * record costs a 304 without a response body.
+     */
+    public CompletableFuture<Book> refreshByIsbn(String isbn) {
+        String cacheKey = "isbn:" + normalizeIsbn(isbn);
+        return coalesce("refresh:" + cacheKey, () -> fetchIsbn(cacheKey, isbn, REVALIDATE, null))
+            .exceptionallyCompose(e -> {
+                logFailure("Error refreshing book by ISBN: " + isbn, e);
+                return fallback(cacheKey, List::of);
+            })
+            .thenApply(books -> books.length > 0 ? books[0] : null);
+    }
+    
+    private Book[] fetchIsbn(String cacheKey, String isbn, CacheControl cacheControl,
+                             TokenBucket rateLimiter) throws IOException {
+        return fetchAndCache(cacheKey, "isbn:" + isbn, cacheControl, rateLimiter, reader -> {
+            Book book = parseBookFromJson(reader, isbn);
+            return book != null ? new Book[] {book} : new Book[0];
         });
     }
     
@@ -64,216 +175,416 @@ public class GoogleBooksService {
      * Search books by title asynchronously
      */
     public CompletableFuture<Book[]> searchByTitle(String title) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = GOOGLE_BOOKS_API_URL + "?q=intitle:" + title.replace(" ", "+");
-                if (!API_KEY.isEmpty()) {
-                    url += "&key=" + API_KEY;
-                }
-                
-                Request request = new Request.Builder()
-                    .url(url)
-                    .build();
-                
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        String jsonResponse = response.body().string();
-                        return parseBooksFromJson(jsonResponse);
-                    } else {
-                        LOGGER.warning("Google Books API request failed: " + response.code());
-                        return new Book[0];
-                    }
-                }
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error searching books by title: " + title, e);
-                return new Book[0];
-            }
-        });
+        String cacheKey = "title:" + normalizeText(title);
+        return cachedOrFetch(cacheKey, () -> fetchAndCache(cacheKey, "intitle:" + title.replace(" ", "+"), null, null,
+            this::parseBooksFromJson))
+            .exceptionallyCompose(e -> {
+                logFailure("Error searching books by title: " + title, e);
+                return fallback(cacheKey, () -> bookDAO.search(title));
+            });
     }
     
     /**
      * Search books by author asynchronously
      */
     public CompletableFuture<Book[]> searchByAuthor(String author) {
-        return CompletableFuture.supplyAsync(() -> {
+        String cacheKey = "author:" + normalizeText(author);
+        return cachedOrFetch(cacheKey, () -> fetchAndCache(cacheKey, "inauthor:" + author.replace(" ", "+"), null, null,
+            this::parseBooksFromJson))
+            .exceptionallyCompose(e -> {
+                logFailure("Error searching books by author: " + author, e);
+                return fallback(cacheKey, () -> bookDAO.search(author));
+            });
+    }
+    
+    /**
+     * Serve a key from the metadata cache, or fetch it when the cache has no
+     * fresh entry
+     */
+    private CompletableFuture<Book[]> cachedOrFetch(String cacheKey, Callable<Book[]> fetch) {
+        return cache.get(cacheKey).thenCompose(cached -> {
+            if (cached != null) {
+                CACHE_HITS.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+            return coalesce(cacheKey, fetch);
+        });
+    }
+    
+    /**
+     * Run a fetch on the executor, sharing it with identical calls already in
+     * flight. Every caller gets its own copy of the books, as with cache hits.
+     */
+    private CompletableFuture<Book[]> coalesce(String key, Callable<Book[]> fetch) {
+        return inFlight.execute(key, () -> CompletableFuture.supplyAsync(() -> {
+            MetadataCallEvent event = new MetadataCallEvent();
+            event.begin();
+            event.provider = getName();
+            event.query = key;
+            long start = System.nanoTime();
             try {
-                String url = GOOGLE_BOOKS_API_URL + "?q=inauthor:" + author.replace(" ", "+");
-                if (!API_KEY.isEmpty()) {
-                    url += "&key=" + API_KEY;
-                }
-                
-                Request request = new Request.Builder()
-                    .url(url)
-                    .build();
-                
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        String jsonResponse = response.body().string();
-                        return parseBooksFromJson(jsonResponse);
-                    } else {
-                        LOGGER.warning("Google Books API request failed: " + response.code());
-                        return new Book[0];
-                    }
-                }
+                Book[] books = fetch.call();
+                REQUEST_TIMER.recordSince(start);
+                event.outcome = "ok";
+                event.bookCount = books.length;
+                return books;
+            } catch (CircuitBreaker.OpenException e) {
+                event.outcome = "rejected";
+                throw new CompletionException(e);
             } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error searching books by author: " + author, e);
-                return new Book[0];
+                REQUEST_TIMER.recordSince(start);
+                ERRORS.increment();
+                event.outcome = "error";
+                throw new CompletionException(e);
+            } finally {
+                event.commit();
             }
-        });
+        }, executor)).thenApply(GoogleBooksService::copyOf);
     }
     
     /**
-     * Parse single book from JSON response
+     * Offline fallback: the last cached result even if expired, otherwise
+     * matching books from the local catalog (queried on the database executor)
      */
-    private Book parseBookFromJson(String jsonResponse, String originalIsbn) {
-        try {
-            JsonObject root = JsonParser.parseString(jsonResponse).getAsJsonObject();
-            JsonArray items = root.getAsJsonArray("items");
-            
-            if (items != null && items.size() > 0) {
-                JsonObject item = items.get(0).getAsJsonObject();
-                JsonObject volumeInfo = item.getAsJsonObject("volumeInfo");
-                
-                return createBookFromVolumeInfo(volumeInfo, originalIsbn);
+    private CompletableFuture<Book[]> fallback(String cacheKey, Supplier<List<Book>> local) {
+        FALLBACKS.increment();
+        return cache.getStale(cacheKey).thenApplyAsync(stale -> {
+            if (stale != null && stale.length > 0) {
+                LOGGER.info("Serving stale metadata for {}", cacheKey);
+                return stale;
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error parsing JSON response", e);
+            List<Book> books = local.get();
+            return books.subList(0, Math.min(books.size(), MAX_SEARCH_RESULTS)).toArray(new Book[0]);
+        }, dbExecutor);
+    }
+    
+    private static void logFailure(String message, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof CircuitBreaker.OpenException) {
+            // Expected while the service is down; avoid a stack trace per lookup
+            LOGGER.debug("{}: {}", message, cause.getMessage());
+        } else {
+            LOGGER.error(message, cause);
         }
-        
-        return null;
+    }
+    
+    private static Book[] copyOf(Book[] books) {
+        return books.length == 0 ? books : JsonUtils.gson().fromJson(JsonUtils.gson().toJson(books), Book[].class);
     }
     
     /**
-     * Parse multiple books from JSON response
+     * Query the API and cache the parsed result. Failed requests throw
+     * without caching, so transient errors are never cached as misses.
+     * A rate limiter, if given, is only consulted right before the call.
      */
-    private Book[] parseBooksFromJson(String jsonResponse) {
+    private Book[] fetchAndCache(String cacheKey, String query, CacheControl cacheControl,
+                                 TokenBucket rateLimiter, ResponseParser parser) throws IOException {
+        String url = apiUrl + "?q=" + query;
+        if (!API_KEY.isEmpty()) {
+            url += "&key=" + API_KEY;
+        }
+        
+        Request.Builder requestBuilder = new Request.Builder().url(url);
+        if (cacheControl != null) {
+            requestBuilder.cacheControl(cacheControl);
+        }
+        
+        if (rateLimiter != null) {
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a rate limit permit");
+            }
+        }
+        circuitBreaker.acquire();
+        Response call;
         try {
-            JsonObject root = JsonParser.parseString(jsonResponse).getAsJsonObject();
-            JsonArray items = root.getAsJsonArray("items");
-            
-            if (items != null && items.size() > 0) {
-                Book[] books = new Book[Math.min(items.size(), 10)]; // Limit to 10 results
-                
-                for (int i = 0; i < books.length; i++) {
-                    JsonObject item = items.get(i).getAsJsonObject();
-                    JsonObject volumeInfo = item.getAsJsonObject("volumeInfo");
-                    
-                    books[i] = createBookFromVolumeInfo(volumeInfo, null);
+            call = httpClient.newCall(requestBuilder.build()).execute();
+        } catch (IOException | RuntimeException e) {
+            // Every permitted call must report back, or a half-open probe would never finish
+            circuitBreaker.recordFailure();
+            throw e;
+        }
+        
+        try (Response response = call) {
+            // Recorded before the body is touched, so parse errors cannot skip it
+            if (response.code() >= 500 || response.code() == 429) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordSuccess();
+            }
+            if (response.networkResponse() != null && response.networkResponse().code() == 304) {
+                LOGGER.debug("Not modified: {}", query);
+            }
+            if (response.isSuccessful() && response.body() != null) {
+                Book[] books;
+                try (JsonReader reader = new JsonReader(response.body().charStream())) {
+                    reader.setLenient(true);
+                    books = parser.parse(reader);
+                    if (response.cacheResponse() == null && httpClient.cache() != null) {
+                        drainForCache(response.body().byteStream(), cacheControl == REVALIDATE);
+                    }
+                } catch (IllegalStateException | NumberFormatException e) {
+                    throw new IOException("Malformed Google Books response", e);
                 }
-                
+                cache.put(cacheKey, books);
                 return books;
+            } else {
+                throw new HttpStatusException(response.code());
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error parsing JSON response", e);
         }
-        
-        return new Book[0];
     }
     
     /**
-     * Create Book object from Google Books volumeInfo
+     * The HTTP cache only stores a body that was read to the end. Refreshes
+     * always finish it so the next refresh can revalidate; other lookups only
+     * finish a short remainder, so a long result page is never downloaded
+     * just to be cached.
      */
-    private Book createBookFromVolumeInfo(JsonObject volumeInfo, String fallbackIsbn) {
-        Book book = new Book();
-        
-        // Title
-        if (volumeInfo.has("title")) {
-            book.setTitle(volumeInfo.get("title").getAsString());
+    private static void drainForCache(InputStream body, boolean fully) throws IOException {
+        if (fully) {
+            body.transferTo(OutputStream.nullOutputStream());
+            return;
         }
-        
-        // Authors
-        if (volumeInfo.has("authors")) {
-            JsonArray authors = volumeInfo.getAsJsonArray("authors");
-            if (authors.size() > 0) {
-                StringBuilder authorBuilder = new StringBuilder();
-                for (int i = 0; i < authors.size(); i++) {
-                    if (i > 0) authorBuilder.append(", ");
-                    authorBuilder.append(authors.get(i).getAsString());
+        byte[] buffer = new byte[8192];
+        long drained = 0;
+        int read;
+        while (drained <= MAX_DRAIN_BYTES && (read = body.read(buffer)) != -1) {
+            drained += read;
+        }
+    }
+    
+    /**
+     * Circuit breaker guarding calls to the API, exposed for status and metrics
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    /**
+     * Normalize an ISBN for use as a cache key (digits and X only)
+     */
+    static String normalizeIsbn(String isbn) {
+        return isbn == null ? "" : isbn.replaceAll("[^0-9Xx]", "").toUpperCase();
+    }
+    
+    /**
+     * Normalize free text for use as a cache key
+     */
+    private static String normalizeText(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+    
+    /**
+     * Parse the first book of a response, or null when there are no items
+     */
+    private Book parseBookFromJson(JsonReader reader, String originalIsbn) throws IOException {
+        Book[] books = parseItems(reader, 1, originalIsbn);
+        return books.length > 0 ? books[0] : null;
+    }
+    
+    /**
+     * Parse multiple books from a response
+     */
+    private Book[] parseBooksFromJson(JsonReader reader) throws IOException {
+        return parseItems(reader, MAX_SEARCH_RESULTS, null);
+    }
+    
+    /**
+     * Stream through a volumes response and build at most limit books. Reading
+     * stops as soon as enough items are parsed; the rest of the body is never
+     * read, and fields the catalog does not use are skipped without decoding.
+     */
+    private Book[] parseItems(JsonReader reader, int limit, String fallbackIsbn) throws IOException {
+        List<Book> books = new ArrayList<>(limit);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"items".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext() && books.size() < limit) {
+                Book book = parseItem(reader, fallbackIsbn);
+                if (book != null) {
+                    books.add(book);
                 }
-                book.setAuthor(authorBuilder.toString());
             }
+            break;
         }
+        return books.toArray(new Book[0]);
+    }
+    
+    /**
+     * Parse one volume, reading only its volumeInfo
+     */
+    private Book parseItem(JsonReader reader, String fallbackIsbn) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        Book book = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("volumeInfo".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                book = createBookFromVolumeInfo(reader, fallbackIsbn);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return book;
+    }
+    
+    /**
+     * Create Book object from a Google Books volumeInfo object
+     */
+    private Book createBookFromVolumeInfo(JsonReader reader, String fallbackIsbn) throws IOException {
+        Book book = new Book();
+        String isbn = null;
         
-        // ISBN
-        String isbn = fallbackIsbn;
-        if (volumeInfo.has("industryIdentifiers")) {
-            JsonArray identifiers = volumeInfo.getAsJsonArray("industryIdentifiers");
-            for (JsonElement identifier : identifiers) {
-                JsonObject id = identifier.getAsJsonObject();
-                String type = id.get("type").getAsString();
-                if ("ISBN_13".equals(type) || "ISBN_10".equals(type)) {
-                    isbn = id.get("identifier").getAsString();
-                    break;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "title" -> book.setTitle(reader.nextString());
+                case "authors" -> {
+                    List<String> authors = readStrings(reader, Integer.MAX_VALUE);
+                    if (!authors.isEmpty()) {
+                        book.setAuthor(String.join(", ", authors));
+                    }
+                }
+                case "industryIdentifiers" -> isbn = readIsbn(reader);
+                case "publisher" -> book.setPublisher(reader.nextString());
+                case "publishedDate" -> book.setPublishDate(parsePublishedDate(reader.nextString()));
+                case "pageCount" -> book.setPageCount(reader.nextInt());
+                case "categories" -> {
+                    // Genre
+                    List<String> categories = readStrings(reader, 1);
+                    if (!categories.isEmpty()) {
+                        book.setGenre(categories.get(0));
+                    }
+                }
+                case "language" -> book.setLanguage(reader.nextString());
+                case "description" -> {
+                    String description = reader.nextString();
+                    // Limit description length
+                    if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                        description = description.substring(0, MAX_DESCRIPTION_LENGTH) + "...";
+                    }
+                    book.setDescription(description);
                 }
+                default -> reader.skipValue();
             }
         }
-        book.setIsbn(isbn);
+        reader.endObject();
         
-        // Publisher
-        if (volumeInfo.has("publisher")) {
-            book.setPublisher(volumeInfo.get("publisher").getAsString());
+        book.setIsbn(isbn != null ? isbn : fallbackIsbn);
+        return book;
+    }
+    
+    /**
+     * Read up to limit strings from an array, skipping the remainder
+     */
+    private static List<String> readStrings(JsonReader reader, int limit) throws IOException {
+        List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (values.size() < limit && reader.peek() == JsonToken.STRING) {
+                values.add(reader.nextString());
+            } else {
+                reader.skipValue();
+            }
         }
-        
-        // Published Date
-        if (volumeInfo.has("publishedDate")) {
-            String dateStr = volumeInfo.get("publishedDate").getAsString();
-            try {
-                // Try different date formats
-                if (dateStr.length() == 4) {
-                    // Year only
-                    book.setPublishDate(LocalDate.of(Integer.parseInt(dateStr), 1, 1));
-                } else if (dateStr.length() == 7) {
-                    // Year-Month
-                    String[] parts = dateStr.split("-");
-                    book.setPublishDate(LocalDate.of(Integer.parseInt(parts[0]), 
-                        Integer.parseInt(parts[1]), 1));
+        reader.endArray();
+        return values;
+    }
+    
+    /**
+     * First ISBN_13 or ISBN_10 identifier in an industryIdentifiers array
+     */
+    private static String readIsbn(JsonReader reader) throws IOException {
+        String isbn = null;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String type = null;
+            String identifier = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("type".equals(name) && reader.peek() == JsonToken.STRING) {
+                    type = reader.nextString();
+                } else if ("identifier".equals(name) && reader.peek() == JsonToken.STRING) {
+                    identifier = reader.nextString();
                 } else {
-                    // Full date
-                    book.setPublishDate(LocalDate.parse(dateStr));
+                    reader.skipValue();
                 }
-            } catch (DateTimeParseException | NumberFormatException e) {
-                LOGGER.warning("Could not parse date: " + dateStr);
+            }
+            reader.endObject();
+            if (isbn == null && identifier != null && ("ISBN_13".equals(type) || "ISBN_10".equals(type))) {
+                isbn = identifier;
             }
         }
-        
-        // Page Count
-        if (volumeInfo.has("pageCount")) {
-            book.setPageCount(volumeInfo.get("pageCount").getAsInt());
-        }
-        
-        // Categories (Genre)
-        if (volumeInfo.has("categories")) {
-            JsonArray categories = volumeInfo.getAsJsonArray("categories");
-            if (categories.size() > 0) {
-                book.setGenre(categories.get(0).getAsString());
+        reader.endArray();
+        return isbn;
+    }
+    
+    /**
+     * Parse a published date given as year, year-month or full date
+     */
+    private static LocalDate parsePublishedDate(String dateStr) {
+        try {
+            if (dateStr.length() == 4) {
+                // Year only
+                return LocalDate.of(Integer.parseInt(dateStr), 1, 1);
+            } else if (dateStr.length() == 7) {
+                // Year-Month
+                String[] parts = dateStr.split("-");
+                return LocalDate.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 1);
+            } else {
+                // Full date
+                return LocalDate.parse(dateStr);
             }
+        } catch (DateTimeException | NumberFormatException e) {
+            LOGGER.warn("Could not parse date: {}", dateStr);
+            return null;
         }
+    }
+    
+    /**
+     * Thrown when the API answers with an error status. Only rate limiting
+     * (429) and server errors are worth retrying; other client errors would
+     * fail the same way again.
+     */
+    public static class HttpStatusException extends IOException {
+        private static final long serialVersionUID = 1L;
+        
+        private final int statusCode;
         
-        // Language
-        if (volumeInfo.has("language")) {
-            book.setLanguage(volumeInfo.get("language").getAsString());
+        public HttpStatusException(int statusCode) {
+            super("Google Books API request failed: " + statusCode);
+            this.statusCode = statusCode;
         }
         
-        // Description
-        if (volumeInfo.has("description")) {
-            String description = volumeInfo.get("description").getAsString();
-            // Limit description length
-            if (description.length() > 1000) {
-                description = description.substring(0, 1000) + "...";
-            }
-            book.setDescription(description);
+        public int getStatusCode() {
+            return statusCode;
         }
         
-        return book;
+        public boolean isRetryable() {
+            return statusCode == 429 || statusCode >= 500;
+        }
     }
     
     /**
-     * Close HTTP client resources
+     * Parser applied to a streaming response body
      */
-    public void shutdown() {
-        if (httpClient != null) {
-            httpClient.dispatcher().executorService().shutdown();
-            httpClient.connectionPool().evictAll();
-        }
+    @FunctionalInterface
+    private interface ResponseParser {
+        Book[] parse(JsonReader reader) throws IOException;
     }
 }
@@ -0,0 +1,244 @@
+package com.library.service;
+
+import com.library.database.BookDAO;
+import com.library.model.Book;
+import com.library.utils.AppExecutors;
+import com.library.utils.CircuitBreaker;
+import com.library.utils.SingleFlight;
+import com.library.utils.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Service for enriching a shipment of scanned ISBNs with Google Books
+ * metadata. Lookups run with a bounded number of concurrent requests and
+ * a token-bucket rate limit, are retried with exponential backoff, and
+ * found books are upserted into the catalog in batches.
+ */
+public class IsbnEnrichmentService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IsbnEnrichmentService.class);
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 5.0;
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(500);
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final GoogleBooksService googleBooksService;
+    private final BookDAO bookDAO;
+    private final int concurrency;
+    private final TokenBucket rateLimiter;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final int batchSize;
+
+    private final Executor executor;
+    private final Executor dbExecutor;
+    private final SingleFlight<String, Book> inFlight = new SingleFlight<>();
+
+    public IsbnEnrichmentService(GoogleBooksService googleBooksService, BookDAO bookDAO) {
+        this(googleBooksService, bookDAO, AppExecutors.getInstance().http(), DEFAULT_CONCURRENCY,
+            DEFAULT_REQUESTS_PER_SECOND, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF, DEFAULT_BATCH_SIZE);
+    }
+
+    public IsbnEnrichmentService(GoogleBooksService googleBooksService, BookDAO bookDAO, Executor executor,
+                                 int concurrency, double requestsPerSecond, int maxAttempts, Duration initialBackoff,
+                                 int batchSize) {
+        this.googleBooksService = googleBooksService;
+        this.bookDAO = bookDAO;
+        this.concurrency = concurrency;
+        this.rateLimiter = new TokenBucket(requestsPerSecond, concurrency);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.dbExecutor = AppExecutors.getInstance().db();
+    }
+
+    /**
+     * Enrich a list of ISBNs
+     */
+    public CompletableFuture<EnrichmentResult> enrich(List<String> isbns) {
+        return enrich(isbns.stream());
+    }
+
+    /**
+     * Enrich a stream of ISBNs. The stream is consumed lazily, never running
+     * more than the configured number of lookups at once.
+     */
+    public CompletableFuture<EnrichmentResult> enrich(Stream<String> isbns) {
+        return CompletableFuture.supplyAsync(() -> runPipeline(isbns), executor);
+    }
+
+    private EnrichmentResult runPipeline(Stream<String> isbns) {
+        EnrichmentResult result = new EnrichmentResult();
+        Semaphore slots = new Semaphore(concurrency);
+        List<Book> pending = new ArrayList<>();
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        long start = System.nanoTime();
+
+        Iterator<String> iterator = isbns.iterator();
+        while (iterator.hasNext()) {
+            String isbn = GoogleBooksService.normalizeIsbn(iterator.next());
+            if (isbn.isEmpty() || !seen.add(isbn)) {
+                continue;
+            }
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            lookups.add(lookup(isbn).handle((book, error) -> {
+                try {
+                    if (error != null) {
+                        result.addFailed(isbn);
+                    } else if (book == null) {
+                        result.addNotFound(isbn);
+                    } else {
+                        result.addFound(book);
+                        addToBatch(pending, book, result);
+                    }
+                } finally {
+                    slots.release();
+                }
+                return null;
+            }));
+        }
+
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).join();
+        flush(pending, result);
+
+        result.setRequested(seen.size());
+        LOGGER.info("ISBN enrichment finished in {} ms: {}", (System.nanoTime() - start) / 1_000_000, result);
+        return result;
+    }
+
+    /**
+     * Look up one ISBN, sharing the request with any identical lookup already in flight
+     */
+    private CompletableFuture<Book> lookup(String isbn) {
+        return inFlight.execute(isbn, () -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetchWithRetry(isbn);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor));
+    }
+
+    private Book fetchWithRetry(String isbn) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return googleBooksService.fetchByIsbn(isbn, rateLimiter);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !isRetryable(e)) {
+                    LOGGER.warn("Giving up on ISBN {} after {} attempts", isbn, attempt, e);
+                    throw e;
+                }
+                long backoff = initialBackoffMillis << (attempt - 1);
+                long jitter = ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                LOGGER.debug("Retrying ISBN {} in {} ms: {}", isbn, (backoff + jitter), e.getMessage());
+                Thread.sleep(backoff + jitter);
+            }
+        }
+    }
+
+    /**
+     * I/O failures, rate limiting and server errors are retried; an open
+     * circuit or any other error status fails the lookup at once
+     */
+    private static boolean isRetryable(IOException e) {
+        if (e instanceof CircuitBreaker.OpenException) {
+            return false;
+        }
+        return !(e instanceof GoogleBooksService.HttpStatusException status) || status.isRetryable();
+    }
+
+    /**
+     * Add a found book, taking a full batch out under the lock so no batch
+     * ever grows past the batch size
+     */
+    private void addToBatch(List<Book> pending, Book book, EnrichmentResult result) {
+        List<Book> batch = null;
+        synchronized (pending) {
+            pending.add(book);
+            if (pending.size() >= batchSize) {
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+        }
+        if (batch != null) {
+            save(batch, result);
+        }
+    }
+
+    /**
+     * Take the remaining pending books and save them
+     */
+    private void flush(List<Book> pending, EnrichmentResult result) {
+        List<Book> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        save(batch, result);
+    }
+
+    /**
+     * Save one batch. The write is awaited outside the pending lock so a
+     * virtual thread never blocks on the database while holding a monitor
+     * (which would pin its carrier thread).
+     */
+    private void save(List<Book> batch, EnrichmentResult result) {
+        if (!batch.isEmpty()) {
+            result.addSaved(CompletableFuture.supplyAsync(() -> bookDAO.upsertAll(batch), dbExecutor).join());
+        }
+    }
+
+    /**
+     * Outcome of one enrichment run
+     */
+    public static class EnrichmentResult {
+        private int requested;
+        private final List<Book> found = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> notFound = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger savedCounter = new AtomicInteger();
+
+        // Getters
+        public int getRequested() { return requested; }
+        public int getSaved() { return savedCounter.get(); }
+        public List<Book> getFound() { return new ArrayList<>(found); }
+        public List<String> getNotFound() { return new ArrayList<>(notFound); }
+        public List<String> getFailed() { return new ArrayList<>(failed); }
+
+        void setRequested(int requested) { this.requested = requested; }
+        void addFound(Book book) { found.add(book); }
+        void addNotFound(String isbn) { notFound.add(isbn); }
+        void addFailed(String isbn) { failed.add(isbn); }
+        void addSaved(int count) { savedCounter.addAndGet(count); }
+
+        @Override
+        public String toString() {
+            return String.format("EnrichmentResult{requested=%d, found=%d, notFound=%d, failed=%d, saved=%d}",
+                requested, found.size(), notFound.size(), failed.size(), getSaved());
+        }
+    }
+}
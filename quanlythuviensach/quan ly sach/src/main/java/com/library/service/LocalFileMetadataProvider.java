@@ -0,0 +1,84 @@
+package com.library.service;
+
+import com.google.gson.JsonParseException;
+import com.library.model.Book;
+import com.library.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Offline metadata provider backed by a JSON file holding an array of books,
+ * e.g. a publisher catalog exported for the library. The file is read once,
+ * on first lookup; a missing file simply yields no records.
+ */
+public class LocalFileMetadataProvider implements MetadataProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileMetadataProvider.class);
+    private static final String DEFAULT_FILE = "metadata.json";
+
+    private final Path file;
+    private volatile Map<String, Book> records;
+
+    public LocalFileMetadataProvider() {
+        this(Path.of(System.getProperty("library.metadata.file", DEFAULT_FILE)));
+    }
+
+    public LocalFileMetadataProvider(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        return "local-file";
+    }
+
+    @Override
+    public CompletableFuture<Book> lookupByIsbn(String isbn) {
+        Book book = getRecords().get(GoogleBooksService.normalizeIsbn(isbn));
+        // Copy so callers may modify the result
+        return CompletableFuture.completedFuture(book == null ? null
+            : JsonUtils.gson().fromJson(JsonUtils.gson().toJson(book), Book.class));
+    }
+
+    private Map<String, Book> getRecords() {
+        if (records == null) {
+            synchronized (this) {
+                if (records == null) {
+                    records = load();
+                }
+            }
+        }
+        return records;
+    }
+
+    private Map<String, Book> load() {
+        if (!Files.isRegularFile(file)) {
+            LOGGER.debug("No local metadata file at {}", file.toAbsolutePath());
+            return Collections.emptyMap();
+        }
+        Map<String, Book> byIsbn = new HashMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Book[] books = JsonUtils.gson().fromJson(reader, Book[].class);
+            if (books != null) {
+                for (Book book : books) {
+                    if (book != null && book.getIsbn() != null) {
+                        byIsbn.put(GoogleBooksService.normalizeIsbn(book.getIsbn()), book);
+                    }
+                }
+            }
+            LOGGER.info("Loaded {} local metadata records from {}", byIsbn.size(), file);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Error reading local metadata file: {}", file, e);
+        }
+        return byIsbn;
+    }
+}
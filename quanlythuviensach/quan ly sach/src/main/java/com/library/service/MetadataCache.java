@@ -0,0 +1,166 @@
+package com.library.service;
+
+import com.library.database.Database;
+import com.library.model.Book;
+import com.library.utils.AppExecutors;
+import com.library.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Two-tier cache for book metadata lookups: an in-memory LRU in front of
+ * the metadata_cache table. Empty results are cached as negative entries
+ * with a shorter TTL. Entries are stored as JSON so every hit returns
+ * fresh Book instances that callers may modify.
+ *
+ * Memory hits complete on the calling thread; the metadata_cache table is
+ * only touched from the database executor, like every other DAO access.
+ */
+public class MetadataCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataCache.class);
+    private static final int DEFAULT_MEMORY_CAPACITY = 500;
+    private static final Duration DEFAULT_POSITIVE_TTL = Duration.ofDays(7);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofDays(1);
+    /** Expired entries are kept this long as an offline fallback */
+    private static final Duration STALE_RETENTION = Duration.ofDays(30);
+
+    private final Database database;
+    private final Executor dbExecutor;
+    private final long positiveTtlMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, CacheEntry> memory;
+
+    public MetadataCache() {
+        this(DEFAULT_MEMORY_CAPACITY, DEFAULT_POSITIVE_TTL, DEFAULT_NEGATIVE_TTL, AppExecutors.getInstance().db());
+    }
+
+    public MetadataCache(int memoryCapacity, Duration positiveTtl, Duration negativeTtl, Executor dbExecutor) {
+        this.database = Database.getInstance();
+        this.dbExecutor = dbExecutor;
+        this.positiveTtlMillis = positiveTtl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > memoryCapacity;
+            }
+        };
+        dbExecutor.execute(this::purgeExpired);
+    }
+
+    /**
+     * Cached books for a key, or null on a miss or expired entry.
+     * A negative entry yields an empty array.
+     */
+    public CompletableFuture<Book[]> get(String key) {
+        return getEntry(key).thenApply(entry -> entry == null || isExpired(entry) ? null : entry.toBooks());
+    }
+
+    /**
+     * Cached books for a key even if the entry has expired, or null if there
+     * is none. Used as a fallback when the remote service is unreachable.
+     */
+    public CompletableFuture<Book[]> getStale(String key) {
+        return getEntry(key).thenApply(entry -> entry == null ? null : entry.toBooks());
+    }
+
+    /**
+     * Store the result of a successful lookup; an empty array is cached as a
+     * negative entry. The memory tier is updated before this returns, the
+     * table when the returned future completes.
+     */
+    public CompletableFuture<Void> put(String key, Book[] books) {
+        CacheEntry entry = new CacheEntry(JsonUtils.gson().toJson(books), System.currentTimeMillis(),
+            books.length == 0);
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        return CompletableFuture.runAsync(() -> persist(key, entry), dbExecutor);
+    }
+
+    private void persist(String key, CacheEntry entry) {
+        String sql = """
+            INSERT OR REPLACE INTO metadata_cache (cache_key, payload, fetched_at, is_negative)
+            VALUES (?, ?, ?, ?)
+        """;
+        try {
+            database.executeUpdate(sql, key, entry.payload, entry.fetchedAt, entry.negative);
+        } catch (SQLException e) {
+            LOGGER.warn("Error persisting metadata cache entry: {}", key, e);
+        }
+    }
+
+    private CompletableFuture<CacheEntry> getEntry(String key) {
+        synchronized (memory) {
+            CacheEntry entry = memory.get(key);
+            if (entry != null) {
+                return CompletableFuture.completedFuture(entry);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> loadEntry(key), dbExecutor);
+    }
+
+    private CacheEntry loadEntry(String key) {
+        String sql = "SELECT payload, fetched_at, is_negative FROM metadata_cache WHERE cache_key = ?";
+        try (ResultSet rs = database.executeQuery(sql, key)) {
+            if (rs.next()) {
+                CacheEntry entry = new CacheEntry(rs.getString(1), rs.getLong(2), rs.getBoolean(3));
+                synchronized (memory) {
+                    // A put that raced with this read is newer
+                    return memory.computeIfAbsent(key, k -> entry);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Error reading metadata cache entry: {}", key, e);
+        }
+        return null;
+    }
+
+    private boolean isExpired(CacheEntry entry) {
+        long ttl = entry.negative ? negativeTtlMillis : positiveTtlMillis;
+        return System.currentTimeMillis() - entry.fetchedAt > ttl;
+    }
+
+    /**
+     * Remove entries that are past the stale retention period from the persistent store
+     */
+    private void purgeExpired() {
+        long retention = Math.max(STALE_RETENTION.toMillis(), Math.max(positiveTtlMillis, negativeTtlMillis));
+        long cutoff = System.currentTimeMillis() - retention;
+        try {
+            int removed = database.executeUpdate("DELETE FROM metadata_cache WHERE fetched_at < ?", cutoff);
+            if (removed > 0) {
+                LOGGER.info("Purged {} expired metadata cache entries", removed);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Error purging metadata cache", e);
+        }
+    }
+
+    /**
+     * Cached lookup result serialized as JSON
+     */
+    private static class CacheEntry {
+        private final String payload;
+        private final long fetchedAt;
+        private final boolean negative;
+
+        CacheEntry(String payload, long fetchedAt, boolean negative) {
+            this.payload = payload;
+            this.fetchedAt = fetchedAt;
+            this.negative = negative;
+        }
+
+        Book[] toBooks() {
+            return negative ? new Book[0] : JsonUtils.gson().fromJson(payload, Book[].class);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.library.service;
+
+import com.library.model.Book;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of bibliographic metadata for a book
+ */
+public interface MetadataProvider {
+
+    /**
+     * Short name used in logs
+     */
+    String getName();
+
+    /**
+     * Look up a book by ISBN. The future completes with null when the
+     * provider has no record; it should not complete exceptionally for a miss.
+     */
+    CompletableFuture<Book> lookupByIsbn(String isbn);
+}
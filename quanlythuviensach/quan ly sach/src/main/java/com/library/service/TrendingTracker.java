@@ -0,0 +1,304 @@
+package com.library.service;
+
+import com.library.database.Database;
+import com.library.utils.AppExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory tracker of trending titles over a sliding window of days.
+ * Every day has its own count-min sketch; a bounded candidate set of
+ * recently seen ISBNs is ranked by summing sketch estimates over the
+ * window, so the trending list never touches loan history. The sketches
+ * are periodically snapshotted to SQLite and restored on startup; the
+ * snapshot runs as a task on the database executor so it never interleaves
+ * with a borrow or return transaction on the shared connection.
+ */
+public class TrendingTracker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrendingTracker.class);
+    private static final int WINDOW_DAYS = 7;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+    private static final int MAX_CANDIDATES = 1000;
+    private static final int BORROW_WEIGHT = 3;
+    private static final int VIEW_WEIGHT = 1;
+    private static final long SNAPSHOT_INTERVAL_MINUTES = 5;
+
+    private static TrendingTracker instance;
+
+    private final Database database;
+    private final int[][][] sketches = new int[WINDOW_DAYS][SKETCH_DEPTH][SKETCH_WIDTH];
+    private final long[] bucketDays = new long[WINDOW_DAYS];
+    private final Map<String, Long> candidates = new HashMap<>();
+    private final Executor dbExecutor;
+    private volatile boolean stopped;
+    private boolean dirty;
+
+    private TrendingTracker() {
+        this.database = Database.getInstance();
+        Arrays.fill(bucketDays, Long.MIN_VALUE);
+        this.dbExecutor = AppExecutors.getInstance().db();
+        restoreSnapshot();
+        scheduleSnapshot();
+    }
+
+    public static synchronized TrendingTracker getInstance() {
+        if (instance == null) {
+            instance = new TrendingTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Record a checkout of a book
+     */
+    public void recordBorrow(String isbn) {
+        record(isbn, BORROW_WEIGHT, LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * Record a detail-page view of a book
+     */
+    public void recordView(String isbn) {
+        record(isbn, VIEW_WEIGHT, LocalDate.now().toEpochDay());
+    }
+
+    private synchronized void record(String isbn, int weight, long day) {
+        if (isbn == null || isbn.isBlank()) {
+            return;
+        }
+        int[][] sketch = bucketFor(day);
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            sketch[row][column(isbn, row)] += weight;
+        }
+        candidates.put(isbn, day);
+        if (candidates.size() > MAX_CANDIDATES) {
+            evictWeakestCandidates(day);
+        }
+        dirty = true;
+    }
+
+    /**
+     * ISBNs with the highest activity over the last WINDOW_DAYS days, highest first
+     */
+    public synchronized List<String> getTrending(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        long today = LocalDate.now().toEpochDay();
+        PriorityQueue<Map.Entry<String, Long>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (String isbn : candidates.keySet()) {
+            long score = estimate(isbn, today);
+            if (score <= 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(Map.entry(isbn, score));
+            } else if (top.peek().getValue() < score) {
+                top.poll();
+                top.add(Map.entry(isbn, score));
+            }
+        }
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        List<String> result = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Long> entry : ranked) {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Estimated weighted activity of a book over the window ending on the given day
+     */
+    private long estimate(String isbn, long today) {
+        long total = 0;
+        for (int slot = 0; slot < WINDOW_DAYS; slot++) {
+            if (!isLive(bucketDays[slot], today)) {
+                continue;
+            }
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < SKETCH_DEPTH; row++) {
+                min = Math.min(min, sketches[slot][row][column(isbn, row)]);
+            }
+            total += min;
+        }
+        return total;
+    }
+
+    private int[][] bucketFor(long day) {
+        int slot = Math.floorMod(day, WINDOW_DAYS);
+        if (bucketDays[slot] != day) {
+            for (int[] row : sketches[slot]) {
+                Arrays.fill(row, 0);
+            }
+            bucketDays[slot] = day;
+        }
+        return sketches[slot];
+    }
+
+    private void evictWeakestCandidates(long today) {
+        // Drop stale candidates first, then the lowest scoring ones down to 90% capacity
+        candidates.values().removeIf(day -> !isLive(day, today));
+        if (candidates.size() <= MAX_CANDIDATES) {
+            return;
+        }
+        Map<String, Long> scores = new HashMap<>();
+        for (String isbn : candidates.keySet()) {
+            scores.put(isbn, estimate(isbn, today));
+        }
+        List<String> weakest = new ArrayList<>(candidates.keySet());
+        weakest.sort(Comparator.comparing(scores::get));
+        int toRemove = candidates.size() - MAX_CANDIDATES * 9 / 10;
+        for (String isbn : weakest.subList(0, toRemove)) {
+            candidates.remove(isbn);
+        }
+    }
+
+    private static boolean isLive(long bucketDay, long today) {
+        return bucketDay > today - WINDOW_DAYS && bucketDay <= today;
+    }
+
+    private static int column(String isbn, int row) {
+        int h1 = isbn.hashCode();
+        int h2 = Integer.reverse(h1 * 0x9E3779B9) | 1;
+        return Math.floorMod(h1 + row * h2, SKETCH_WIDTH);
+    }
+
+    // Persistence
+
+    /**
+     * Queue the next periodic snapshot on the database executor
+     */
+    private void scheduleSnapshot() {
+        Executor delayed = CompletableFuture.delayedExecutor(SNAPSHOT_INTERVAL_MINUTES, TimeUnit.MINUTES, dbExecutor);
+        delayed.execute(() -> {
+            if (stopped) {
+                return;
+            }
+            try {
+                saveSnapshot();
+            } finally {
+                scheduleSnapshot();
+            }
+        });
+    }
+
+    /**
+     * Write the live buckets and candidates to SQLite if anything changed.
+     * Must run on the database executor, like every other transaction.
+     */
+    private void saveSnapshot() {
+        List<Object[]> buckets = new ArrayList<>();
+        List<Object[]> candidateRows = new ArrayList<>();
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            long today = LocalDate.now().toEpochDay();
+            for (int slot = 0; slot < WINDOW_DAYS; slot++) {
+                if (isLive(bucketDays[slot], today)) {
+                    buckets.add(new Object[] {bucketDays[slot], encode(sketches[slot])});
+                }
+            }
+            candidates.forEach((isbn, day) -> {
+                if (isLive(day, today)) {
+                    candidateRows.add(new Object[] {isbn, day});
+                }
+            });
+            dirty = false;
+        }
+
+        try {
+            database.beginTransaction();
+            database.executeUpdate("DELETE FROM trending_buckets");
+            database.executeUpdate("DELETE FROM trending_candidates");
+            for (Object[] bucket : buckets) {
+                database.executeUpdate("INSERT INTO trending_buckets (bucket_day, sketch) VALUES (?, ?)", bucket);
+            }
+            for (Object[] candidate : candidateRows) {
+                database.executeUpdate("INSERT INTO trending_candidates (isbn, last_seen_day) VALUES (?, ?)", candidate);
+            }
+            database.commitTransaction();
+            LOGGER.debug("Trending snapshot saved: {} buckets, {} candidates", buckets.size(), candidateRows.size());
+        } catch (SQLException e) {
+            try {
+                database.rollbackTransaction();
+            } catch (SQLException rollbackEx) {
+                LOGGER.error("Error rolling back transaction", rollbackEx);
+            }
+            synchronized (this) {
+                dirty = true;
+            }
+            LOGGER.error("Error saving trending snapshot", e);
+        }
+    }
+
+    private synchronized void restoreSnapshot() {
+        long today = LocalDate.now().toEpochDay();
+
+        try (ResultSet rs = database.executeQuery("SELECT bucket_day, sketch FROM trending_buckets")) {
+            while (rs.next()) {
+                long day = rs.getLong(1);
+                byte[] data = rs.getBytes(2);
+                if (isLive(day, today) && data != null && data.length == SKETCH_DEPTH * SKETCH_WIDTH * Integer.BYTES) {
+                    decode(data, bucketFor(day));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error restoring trending buckets", e);
+        }
+
+        try (ResultSet rs = database.executeQuery("SELECT isbn, last_seen_day FROM trending_candidates")) {
+            while (rs.next()) {
+                long day = rs.getLong(2);
+                if (isLive(day, today)) {
+                    candidates.put(rs.getString(1), day);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error restoring trending candidates", e);
+        }
+        LOGGER.info("Trending tracker restored with {} candidates", candidates.size());
+    }
+
+    private static byte[] encode(int[][] sketch) {
+        ByteBuffer buffer = ByteBuffer.allocate(SKETCH_DEPTH * SKETCH_WIDTH * Integer.BYTES);
+        for (int[] row : sketch) {
+            buffer.asIntBuffer().put(row);
+            buffer.position(buffer.position() + row.length * Integer.BYTES);
+        }
+        return buffer.array();
+    }
+
+    private static void decode(byte[] data, int[][] sketch) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        for (int[] row : sketch) {
+            buffer.asIntBuffer().get(row);
+            buffer.position(buffer.position() + row.length * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Stop periodic snapshots and write a final one on the database executor
+     */
+    public void shutdown() {
+        stopped = true;
+        CompletableFuture.runAsync(this::saveSnapshot, dbExecutor).join();
+    }
+}
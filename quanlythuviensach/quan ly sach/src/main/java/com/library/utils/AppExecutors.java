@@ -0,0 +1,68 @@
+package com.library.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-wide executors for blocking work, backed by virtual threads.
+ * HTTP calls get one virtual thread per task; database work runs on a
+ * single virtual thread, in submission order, because all DAOs share a
+ * single SQLite connection, and a transaction on it would otherwise take
+ * in other threads' statements.
+ */
+public class AppExecutors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppExecutors.class);
+
+    private static AppExecutors instance;
+
+    private final ExecutorService httpExecutor;
+    private final ExecutorService dbExecutor;
+
+    private AppExecutors() {
+        this.httpExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory());
+        this.dbExecutor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("db").factory());
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    /**
+     * Executor for outbound HTTP requests and other unbounded blocking I/O
+     */
+    public Executor http() {
+        return httpExecutor;
+    }
+
+    /**
+     * Executor for database work; tasks run one at a time in submission order
+     */
+    public Executor db() {
+        return dbExecutor;
+    }
+
+    /**
+     * Stop accepting tasks and give running ones a moment to finish
+     */
+    public void shutdown() {
+        httpExecutor.shutdown();
+        dbExecutor.shutdown();
+        try {
+            if (!dbExecutor.awaitTermination(2, TimeUnit.SECONDS)) {
+                LOGGER.warn("Database tasks still running at shutdown");
+            }
+            httpExecutor.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while stopping executors", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.library.utils;
+
+import com.library.metrics.Counter;
+import com.library.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker for calls to a remote service. After a run of consecutive
+ * failures the circuit opens and calls are rejected immediately; once the
+ * open period has passed a single probe call is let through (half-open),
+ * and its outcome closes or re-opens the circuit. Transitions and
+ * rejected calls are also counted in the Metrics registry as
+ * {prefix}.open, .half_open, .closed and .rejected.
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile long lastTransitionAt = System.currentTimeMillis();
+
+    private final Map<State, Counter> transitionCounters = new EnumMap<>(State.class);
+    private final Counter rejectedCounter;
+
+    public CircuitBreaker(String name, String metricPrefix, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        Metrics metrics = Metrics.getInstance();
+        for (State s : State.values()) {
+            transitions.put(s, new AtomicLong());
+            transitionCounters.put(s, metrics.counter(metricPrefix + "." + s.name().toLowerCase(Locale.ROOT)));
+        }
+        this.rejectedCounter = metrics.counter(metricPrefix + ".rejected");
+    }
+
+    /**
+     * Ask permission for a call. Returns false when the circuit is open, or
+     * when it is half-open and the probe call is already running.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejectedCount.incrementAndGet();
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Acquire permission or throw OpenException
+     */
+    public void acquire() throws OpenException {
+        if (!tryAcquire()) {
+            throw new OpenException(name);
+        }
+    }
+
+    /**
+     * Record that a permitted call reached the service
+     */
+    public synchronized void recordSuccess() {
+        successCount.incrementAndGet();
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    /**
+     * Record that a permitted call failed because the service was unavailable
+     */
+    public synchronized void recordFailure() {
+        failureCount.incrementAndGet();
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = System.currentTimeMillis();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        LOGGER.warn("Circuit {}: {} -> {}", name, state, newState);
+        state = newState;
+        transitions.get(newState).incrementAndGet();
+        transitionCounters.get(newState).increment();
+        lastTransitionAt = System.currentTimeMillis();
+    }
+
+    // Metrics
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Number of times the circuit has entered the given state
+     */
+    public long getTransitionCount(State target) {
+        return transitions.get(target).get();
+    }
+
+    public long getSuccessCount() { return successCount.get(); }
+    public long getFailureCount() { return failureCount.get(); }
+    public long getRejectedCount() { return rejectedCount.get(); }
+    public long getLastTransitionAt() { return lastTransitionAt; }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitBreaker{name=%s, state=%s, opened=%d, success=%d, failure=%d, rejected=%d}",
+            name, getState(), getTransitionCount(State.OPEN), getSuccessCount(), getFailureCount(), getRejectedCount());
+    }
+
+    /**
+     * Thrown when a call is rejected because the circuit is open
+     */
+    public static class OpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException(String name) {
+            super("Circuit " + name + " is open");
+        }
+    }
+}
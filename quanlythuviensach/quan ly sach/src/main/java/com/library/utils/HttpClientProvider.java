@@ -0,0 +1,87 @@
+package com.library.utils;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared OkHttp client for all outbound HTTP calls. Connections are pooled
+ * and reused over HTTP/2 where the server supports it, responses are kept
+ * in an on-disk cache so stale entries are revalidated with If-None-Match,
+ * and gzip is negotiated and decoded transparently by OkHttp.
+ *
+ * Settings can be overridden with system properties:
+ * library.http.cacheDir, library.http.cacheSizeMb,
+ * library.http.connectTimeoutMs, library.http.readTimeoutMs and
+ * library.http.callTimeoutMs.
+ */
+public class HttpClientProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientProvider.class);
+    private static final String DEFAULT_CACHE_DIR = "http-cache";
+    private static final long DEFAULT_CACHE_SIZE_MB = 20;
+    private static final long DEFAULT_CONNECT_TIMEOUT_MS = 5_000;
+    private static final long DEFAULT_READ_TIMEOUT_MS = 15_000;
+    private static final long DEFAULT_CALL_TIMEOUT_MS = 30_000;
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final Duration KEEP_ALIVE = Duration.ofMinutes(5);
+
+    private static HttpClientProvider instance;
+
+    private final OkHttpClient client;
+
+    private HttpClientProvider() {
+        File cacheDir = new File(System.getProperty("library.http.cacheDir", DEFAULT_CACHE_DIR));
+        long cacheSize = Long.getLong("library.http.cacheSizeMb", DEFAULT_CACHE_SIZE_MB) * 1024 * 1024;
+
+        this.client = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS))
+            .connectTimeout(Long.getLong("library.http.connectTimeoutMs", DEFAULT_CONNECT_TIMEOUT_MS), TimeUnit.MILLISECONDS)
+            .readTimeout(Long.getLong("library.http.readTimeoutMs", DEFAULT_READ_TIMEOUT_MS), TimeUnit.MILLISECONDS)
+            .callTimeout(Long.getLong("library.http.callTimeoutMs", DEFAULT_CALL_TIMEOUT_MS), TimeUnit.MILLISECONDS)
+            .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .retryOnConnectionFailure(true)
+            .cache(new Cache(cacheDir, cacheSize))
+            .build();
+        LOGGER.info("HTTP client ready with cache at {}", cacheDir.getAbsolutePath());
+    }
+
+    public static synchronized HttpClientProvider getInstance() {
+        if (instance == null) {
+            instance = new HttpClientProvider();
+        }
+        return instance;
+    }
+
+    /**
+     * The shared client. Callers needing different settings should derive
+     * one with client().newBuilder() so the pool and cache stay shared.
+     */
+    public OkHttpClient client() {
+        return client;
+    }
+
+    /**
+     * Close idle connections and flush the response cache
+     */
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        Cache cache = client.cache();
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error closing HTTP cache", e);
+            }
+        }
+    }
+}
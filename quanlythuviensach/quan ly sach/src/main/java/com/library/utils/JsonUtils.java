@@ -0,0 +1,59 @@
+package com.library.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Shared Gson configuration for serializing model objects
+ */
+public class JsonUtils {
+    
+    private static final Gson GSON = new GsonBuilder()
+        .registerTypeAdapter(LocalDate.class, new LocalDateAdapter().nullSafe())
+        .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe())
+        .create();
+    
+    /**
+     * Get the shared Gson instance (thread-safe)
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+    
+    /**
+     * ISO-8601 adapter for LocalDate
+     */
+    private static class LocalDateAdapter extends TypeAdapter<LocalDate> {
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            out.value(value.toString());
+        }
+        
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString());
+        }
+    }
+    
+    /**
+     * ISO-8601 adapter for LocalDateTime
+     */
+    private static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
+        @Override
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            out.value(value.toString());
+        }
+        
+        @Override
+        public LocalDateTime read(JsonReader in) throws IOException {
+            return LocalDateTime.parse(in.nextString());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.library.view;
+
+import com.library.service.AutocompleteIndex.Suggestion;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Drop-down of suggestions under a text field. Lookups hit the in-memory
+ * autocomplete index, so they run directly on the FX thread.
+ */
+public class AutocompletePopup {
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private final TextField field;
+    private final BiFunction<String, Integer, List<Suggestion>> source;
+    private final ContextMenu menu = new ContextMenu();
+    private boolean applying;
+
+    private AutocompletePopup(TextField field, BiFunction<String, Integer, List<Suggestion>> source) {
+        this.field = field;
+        this.source = source;
+        menu.getStyleClass().add("autocomplete-popup");
+    }
+
+    /**
+     * Show suggestions from source under field while the user types
+     */
+    public static void attach(TextField field, BiFunction<String, Integer, List<Suggestion>> source) {
+        AutocompletePopup popup = new AutocompletePopup(field, source);
+        field.textProperty().addListener((obs, oldText, newText) -> popup.update(newText));
+        field.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (!focused) {
+                popup.menu.hide();
+            }
+        });
+    }
+
+    private void update(String text) {
+        if (applying || !field.isFocused() || text == null || text.isBlank()) {
+            menu.hide();
+            return;
+        }
+        List<Suggestion> suggestions = source.apply(text, MAX_SUGGESTIONS);
+        if (suggestions.isEmpty()
+                || (suggestions.size() == 1 && suggestions.get(0).text().equalsIgnoreCase(text.trim()))) {
+            menu.hide();
+            return;
+        }
+
+        menu.getItems().clear();
+        for (Suggestion suggestion : suggestions) {
+            CustomMenuItem item = new CustomMenuItem(new Label(suggestion.label()), true);
+            item.setOnAction(e -> apply(suggestion));
+            menu.getItems().add(item);
+        }
+        if (!menu.isShowing()) {
+            menu.show(field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private void apply(Suggestion suggestion) {
+        applying = true;
+        try {
+            field.setText(suggestion.text());
+            field.positionCaret(suggestion.text().length());
+        } finally {
+            applying = false;
+        }
+        menu.hide();
+    }
+}
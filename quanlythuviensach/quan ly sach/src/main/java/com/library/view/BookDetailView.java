@@ -2,6 +2,7 @@ package com.library.view;
 
 import com.library.controller.LibraryController;
 import com.library.model.Book;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -10,13 +11,18 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * View for displaying detailed information about a book
  */
 public class BookDetailView {
+    private static final int ALSO_BORROWED_LIMIT = 5;
+    
     private Book book;
     private LibraryController controller;
+    private Button borrowButton;
+    private final BusyIndicator busy = new BusyIndicator();
     
     public BookDetailView(Book book, LibraryController controller) {
         this.book = book;
@@ -24,6 +30,8 @@ public class BookDetailView {
     }
     
     public ScrollPane createView() {
+        controller.recordBookView(book.getIsbn());
+        
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.getStyleClass().add("book-detail-scroll");
@@ -44,6 +52,9 @@ public class BookDetailView {
         // Status and rating section
         VBox statusSection = createStatusSection();
         
+        // Co-borrow recommendations section
+        VBox alsoBorrowedSection = createAlsoBorrowedSection();
+        
         // Action buttons section
         HBox actionSection = createActionSection();
         
@@ -56,6 +67,8 @@ public class BookDetailView {
             new Separator(),
             statusSection,
             new Separator(),
+            alsoBorrowedSection,
+            new Separator(),
             actionSection
         );
         
@@ -172,11 +185,56 @@ public class BookDetailView {
         return statusSection;
     }
     
+    private VBox createAlsoBorrowedSection() {
+        VBox alsoBorrowedSection = new VBox(15);
+        
+        Label sectionTitle = new Label("BẠN ĐỌC MƯỢN SÁCH NÀY CŨNG MƯỢN");
+        sectionTitle.getStyleClass().add("section-header");
+        
+        VBox bookLinks = new VBox(5);
+        bookLinks.getChildren().add(new Label("Đang tải..."));
+        
+        alsoBorrowedSection.getChildren().addAll(sectionTitle, bookLinks);
+        loadAlsoBorrowed(bookLinks);
+        return alsoBorrowedSection;
+    }
+    
+    private void loadAlsoBorrowed(VBox bookLinks) {
+        Task<List<Book>> loadTask = new Task<List<Book>>() {
+            @Override
+            protected List<Book> call() throws Exception {
+                return controller.getAlsoBorrowedBooks(book.getIsbn(), ALSO_BORROWED_LIMIT);
+            }
+            
+            @Override
+            protected void succeeded() {
+                bookLinks.getChildren().clear();
+                if (getValue().isEmpty()) {
+                    bookLinks.getChildren().add(new Label("Chưa có gợi ý"));
+                    return;
+                }
+                for (Book other : getValue()) {
+                    Label otherLabel = new Label("• " + other);
+                    otherLabel.getStyleClass().add("info-value");
+                    otherLabel.setWrapText(true);
+                    bookLinks.getChildren().add(otherLabel);
+                }
+            }
+            
+            @Override
+            protected void failed() {
+                bookLinks.getChildren().setAll(new Label("Không thể tải gợi ý"));
+            }
+        };
+        
+        controller.runInBackground(loadTask);
+    }
+    
     private HBox createActionSection() {
         HBox actionSection = new HBox(15);
         actionSection.setAlignment(Pos.CENTER);
         
-        Button borrowButton = new Button("Mượn sách");
+        borrowButton = new Button("Mượn sách");
         borrowButton.getStyleClass().add("action-button");
         borrowButton.setDisable(book.isBorrowed());
         borrowButton.setOnAction(e -> borrowBook());
@@ -194,7 +252,7 @@ public class BookDetailView {
         reviewButton.getStyleClass().add("action-button");
         reviewButton.setOnAction(e -> openReviewDialog());
         
-        actionSection.getChildren().addAll(borrowButton, returnButton, editButton, reviewButton);
+        actionSection.getChildren().addAll(borrowButton, returnButton, editButton, reviewButton, busy);
         return actionSection;
     }
     
@@ -231,14 +289,16 @@ public class BookDetailView {
                 return;
             }
             
-            boolean success = controller.borrowBook(userId.trim(), book.getIsbn());
-            if (success) {
-                showInfo("Mượn sách thành công!");
-                book.setBorrowed(true); // Update local state
-                // Refresh the view would be better
-            } else {
-                showError("Không thể mượn sách. Vui lòng kiểm tra lại thông tin.");
-            }
+            String memberId = userId.trim();
+            busy.track(controller.submit(() -> controller.borrowBook(memberId, book.getIsbn())), success -> {
+                if (success) {
+                    showInfo("Mượn sách thành công!");
+                    book.setBorrowed(true); // Update local state
+                    borrowButton.setDisable(true);
+                } else {
+                    showError("Không thể mượn sách. Vui lòng kiểm tra lại thông tin.");
+                }
+            }, e -> showError("Không thể mượn sách. Vui lòng kiểm tra lại thông tin."), borrowButton);
         });
     }
     
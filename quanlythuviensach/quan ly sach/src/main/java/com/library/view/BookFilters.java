@@ -0,0 +1,50 @@
+package com.library.view;
+
+import com.library.model.Book;
+
+import java.util.function.Predicate;
+
+/**
+ * Composable predicates for filtering books in memory. A null or blank
+ * criterion means "no restriction" and yields a predicate that accepts all.
+ */
+final class BookFilters {
+
+    private BookFilters() {
+    }
+
+    static Predicate<Book> genre(String genre) {
+        if (isBlank(genre)) {
+            return book -> true;
+        }
+        return book -> genre.equalsIgnoreCase(book.getGenre());
+    }
+
+    /**
+     * @param available true for books on the shelf, false for borrowed ones, null for both
+     */
+    static Predicate<Book> availability(Boolean available) {
+        if (available == null) {
+            return book -> true;
+        }
+        return book -> book.isBorrowed() != available;
+    }
+
+    static Predicate<Book> language(String language) {
+        if (isBlank(language)) {
+            return book -> true;
+        }
+        return book -> language.equalsIgnoreCase(book.getLanguage());
+    }
+
+    static Predicate<Book> minRating(double minRating) {
+        if (minRating <= 0) {
+            return book -> true;
+        }
+        return book -> book.getRating() >= minRating;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -2,9 +2,13 @@ package com.library.view;
 
 import com.library.controller.LibraryController;
 import com.library.model.Book;
+import javafx.animation.PauseTransition;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -16,25 +20,49 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * View for displaying and managing the list of books
  */
 public class BookListView {
+    private static final int TRENDING_LIMIT = 5;
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(300);
+    private static final String ALL = "Tất cả";
+    private static final String AVAILABLE = "Có sẵn";
+    private static final String BORROWED = "Đã mượn";
+    private static final List<String> RATING_OPTIONS = List.of(ALL, "Từ 3 sao", "Từ 4 sao", "Từ 4.5 sao");
+    private static final double[] RATING_THRESHOLDS = {0, 3, 4, 4.5};
+    
     private LibraryController controller;
     private TableView<Book> bookTable;
     private ObservableList<Book> bookList;
+    private FilteredList<Book> filteredBooks;
     private TextField searchField;
     private ComboBox<String> genreFilter;
+    private ComboBox<String> availabilityFilter;
+    private ComboBox<String> languageFilter;
+    private ComboBox<String> ratingFilter;
     private Label totalBooksLabel;
     private Label availableBooksLabel;
+    private HBox trendingShelf;
+    private PauseTransition searchDebounce;
+    private Task<List<Book>> activeQuery;
+    private long querySequence;
     
     public BookListView(LibraryController controller) {
         this.controller = controller;
         this.bookList = FXCollections.observableArrayList();
+        // Filters are applied in memory on top of the loaded books; the
+        // catalog is not paged, so filter changes never go back to the database
+        this.filteredBooks = new FilteredList<>(bookList);
+        filteredBooks.addListener((ListChangeListener<Book>) change -> updateStatistics());
     }
     
     public VBox createView() {
@@ -52,6 +80,9 @@ public class BookListView {
         // Statistics section
         HBox statsSection = createStatsSection();
         
+        // Trending this week
+        trendingShelf = createTrendingSection();
+        
         // Book table
         bookTable = createBookTable();
         VBox.setVgrow(bookTable, Priority.ALWAYS);
@@ -63,12 +94,14 @@ public class BookListView {
             titleLabel,
             searchSection,
             statsSection,
+            trendingShelf,
             bookTable,
             buttonSection
         );
         
         // Load initial data
         loadBooks();
+        loadTrending();
         
         return mainContainer;
     }
@@ -84,14 +117,41 @@ public class BookListView {
         searchField = new TextField();
         searchField.setPromptText("Nhập tên sách, tác giả hoặc ISBN...");
         searchField.setPrefWidth(300);
-        searchField.textProperty().addListener((obs, oldText, newText) -> searchBooks());
+        AutocompletePopup.attach(searchField, controller::suggestBooks);
+        // Search once typing pauses; Enter searches immediately
+        searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+        searchDebounce.setOnFinished(e -> searchBooks());
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
+        searchField.setOnAction(e -> {
+            searchDebounce.stop();
+            searchBooks();
+        });
         
         Label filterLabel = new Label("Thể loại:");
         
         genreFilter = new ComboBox<>();
-        genreFilter.setPromptText("Tất cả");
+        genreFilter.setPromptText(ALL);
         genreFilter.setPrefWidth(150);
-        genreFilter.setOnAction(e -> filterByGenre());
+        genreFilter.setOnAction(e -> applyFilters());
+        
+        Label availabilityLabel = new Label("Trạng thái:");
+        
+        availabilityFilter = new ComboBox<>(FXCollections.observableArrayList(ALL, AVAILABLE, BORROWED));
+        availabilityFilter.setPromptText(ALL);
+        availabilityFilter.setOnAction(e -> applyFilters());
+        
+        Label languageLabel = new Label("Ngôn ngữ:");
+        
+        languageFilter = new ComboBox<>();
+        languageFilter.setPromptText(ALL);
+        languageFilter.setPrefWidth(120);
+        languageFilter.setOnAction(e -> applyFilters());
+        
+        Label ratingLabel = new Label("Đánh giá:");
+        
+        ratingFilter = new ComboBox<>(FXCollections.observableArrayList(RATING_OPTIONS));
+        ratingFilter.setPromptText(ALL);
+        ratingFilter.setOnAction(e -> applyFilters());
         
         Button clearButton = new Button("Xóa bộ lọc");
         clearButton.setOnAction(e -> clearFilters());
@@ -100,6 +160,9 @@ public class BookListView {
             searchLabel, searchField,
             new Separator(),
             filterLabel, genreFilter,
+            availabilityLabel, availabilityFilter,
+            languageLabel, languageFilter,
+            ratingLabel, ratingFilter,
             clearButton
         );
         
@@ -123,9 +186,18 @@ public class BookListView {
         return statsSection;
     }
     
+    private HBox createTrendingSection() {
+        HBox trendingSection = new HBox(10);
+        trendingSection.setAlignment(Pos.CENTER_LEFT);
+        trendingSection.setPadding(new Insets(0, 10, 0, 10));
+        return trendingSection;
+    }
+    
     private TableView<Book> createBookTable() {
         TableView<Book> table = new TableView<>();
-        table.setItems(bookList);
+        SortedList<Book> sortedBooks = new SortedList<>(filteredBooks);
+        sortedBooks.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sortedBooks);
         table.getStyleClass().add("book-table");
         
         // ISBN column
@@ -215,26 +287,7 @@ public class BookListView {
     }
     
     private void loadBooks() {
-        Task<List<Book>> loadTask = new Task<List<Book>>() {
-            @Override
-            protected List<Book> call() throws Exception {
-                return controller.getAllBooks();
-            }
-            
-            @Override
-            protected void succeeded() {
-                bookList.setAll(getValue());
-                updateGenreFilter();
-                updateStatistics();
-            }
-            
-            @Override
-            protected void failed() {
-                showError("Không thể tải danh sách sách: " + getException().getMessage());
-            }
-        };
-        
-        new Thread(loadTask).start();
+        runBookQuery(controller::getAllBooks, "Không thể tải danh sách sách: ", this::updateFilterOptions);
     }
     
     private void searchBooks() {
@@ -244,82 +297,140 @@ public class BookListView {
             return;
         }
         
-        Task<List<Book>> searchTask = new Task<List<Book>>() {
-            @Override
-            protected List<Book> call() throws Exception {
-                return controller.searchBooks(searchText.trim());
-            }
-            
-            @Override
-            protected void succeeded() {
-                bookList.setAll(getValue());
-                updateStatistics();
-            }
-            
-            @Override
-            protected void failed() {
-                showError("Lỗi tìm kiếm: " + getException().getMessage());
-            }
-        };
-        
-        new Thread(searchTask).start();
+        String term = searchText.trim();
+        runBookQuery(() -> controller.searchBooks(term), "Lỗi tìm kiếm: ", null);
     }
     
-    private void filterByGenre() {
-        String selectedGenre = genreFilter.getValue();
-        if (selectedGenre == null || "Tất cả".equals(selectedGenre)) {
-            loadBooks();
-            return;
+    /**
+     * Combine the selected criteria into the table's predicate
+     */
+    private void applyFilters() {
+        Predicate<Book> predicate = BookFilters.genre(selection(genreFilter))
+            .and(BookFilters.availability(selectedAvailability()))
+            .and(BookFilters.language(selection(languageFilter)))
+            .and(BookFilters.minRating(RATING_THRESHOLDS[Math.max(0, ratingFilter.getSelectionModel().getSelectedIndex())]));
+        filteredBooks.setPredicate(predicate);
+    }
+    
+    private Boolean selectedAvailability() {
+        String value = availabilityFilter.getValue();
+        if (AVAILABLE.equals(value)) {
+            return true;
+        }
+        return BORROWED.equals(value) ? false : null;
+    }
+    
+    private static String selection(ComboBox<String> comboBox) {
+        String value = comboBox.getValue();
+        return value == null || ALL.equals(value) ? null : value;
+    }
+    
+    /**
+     * Load books into the table in the background. A newer query cancels the
+     * previous one, so a superseded query still waiting for the database never
+     * runs, and results are only applied if no newer query was started since.
+     */
+    private void runBookQuery(Callable<List<Book>> query, String errorMessage, Runnable onLoaded) {
+        if (activeQuery != null) {
+            activeQuery.cancel();
         }
+        long sequence = ++querySequence;
         
-        Task<List<Book>> filterTask = new Task<List<Book>>() {
+        Task<List<Book>> queryTask = new Task<List<Book>>() {
             @Override
             protected List<Book> call() throws Exception {
-                return controller.getBooksByGenre(selectedGenre);
+                return query.call();
             }
             
             @Override
             protected void succeeded() {
+                if (sequence != querySequence) {
+                    return;
+                }
                 bookList.setAll(getValue());
+                if (onLoaded != null) {
+                    onLoaded.run();
+                }
                 updateStatistics();
             }
             
             @Override
             protected void failed() {
-                showError("Lỗi lọc theo thể loại: " + getException().getMessage());
+                if (sequence == querySequence) {
+                    showError(errorMessage + getException().getMessage());
+                }
             }
         };
         
-        new Thread(filterTask).start();
+        activeQuery = queryTask;
+        controller.runInBackground(queryTask);
     }
     
     private void clearFilters() {
+        boolean hadSearch = searchField.getText() != null && !searchField.getText().isBlank();
         searchField.clear();
+        searchDebounce.stop();
         genreFilter.setValue(null);
-        loadBooks();
+        availabilityFilter.setValue(null);
+        languageFilter.setValue(null);
+        ratingFilter.setValue(null);
+        applyFilters();
+        if (hadSearch) {
+            loadBooks();
+        }
     }
     
-    private void updateGenreFilter() {
-        Task<List<String>> genreTask = new Task<List<String>>() {
+    /**
+     * Rebuild genre and language choices from the loaded books, keeping the current selection
+     */
+    private void updateFilterOptions() {
+        setOptions(genreFilter, bookList.stream().map(Book::getGenre));
+        setOptions(languageFilter, bookList.stream().map(Book::getLanguage));
+    }
+    
+    private static void setOptions(ComboBox<String> comboBox, Stream<String> values) {
+        String selected = comboBox.getValue();
+        ObservableList<String> options = FXCollections.observableArrayList(ALL);
+        values.filter(value -> value != null && !value.isBlank())
+            .distinct()
+            .sorted()
+            .forEach(options::add);
+        comboBox.setItems(options);
+        if (selected != null && options.contains(selected)) {
+            comboBox.setValue(selected);
+        }
+    }
+    
+    private void loadTrending() {
+        Task<List<Book>> trendingTask = new Task<List<Book>>() {
             @Override
-            protected List<String> call() throws Exception {
-                return controller.getAllGenres();
+            protected List<Book> call() throws Exception {
+                return controller.getTrendingBooks(TRENDING_LIMIT);
             }
             
             @Override
             protected void succeeded() {
-                ObservableList<String> genres = FXCollections.observableArrayList("Tất cả");
-                genres.addAll(getValue());
-                genreFilter.setItems(genres);
+                trendingShelf.getChildren().clear();
+                if (getValue().isEmpty()) {
+                    return;
+                }
+                Label trendingLabel = new Label("🔥 Xu hướng tuần này:");
+                trendingLabel.getStyleClass().add("stat-label");
+                trendingShelf.getChildren().add(trendingLabel);
+                for (Book book : getValue()) {
+                    Hyperlink link = new Hyperlink(book.getTitle());
+                    link.setOnAction(e -> showBookDetails(book));
+                    trendingShelf.getChildren().add(link);
+                }
             }
         };
         
-        new Thread(genreTask).start();
+        controller.runInBackground(trendingTask);
     }
     
     private void updateStatistics() {
-        int total = bookList.size();
-        long available = bookList.stream().filter(book -> !book.isBorrowed()).count();
+        int total = filteredBooks.size();
+        long available = filteredBooks.stream().filter(book -> !book.isBorrowed()).count();
         
         totalBooksLabel.setText("Tổng số sách: " + total);
         availableBooksLabel.setText("Sách có sẵn: " + available);
@@ -353,6 +464,7 @@ public class BookListView {
     
     public void refresh() {
         loadBooks();
+        loadTrending();
     }
     
     private void showError(String message) {
@@ -12,6 +12,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Placeholder view for Book Management
@@ -22,6 +23,7 @@ public class BookManagementView {
     private TableView<Book> bookTable;
     private TextField txtMaSach, txtTenSach, txtTacGia, txtNhaXuatBan, txtNamXuatBan, txtTheLoai, txtSoLuong;
     private Button btnThem, btnSua, btnXoa, btnLamMoi;
+    private final BusyIndicator busy = new BusyIndicator();
 
     public BookManagementView(LibraryController controller) {
         this.controller = controller;
@@ -84,7 +86,7 @@ public class BookManagementView {
         btnSua = new Button("Sửa");
         btnXoa = new Button("Xóa");
         btnLamMoi = new Button("Làm mới");
-        buttonBox.getChildren().addAll(btnThem, btnSua, btnXoa, btnLamMoi);
+        buttonBox.getChildren().addAll(btnThem, btnSua, btnXoa, btnLamMoi, busy);
         return buttonBox;
     }
 
@@ -135,9 +137,11 @@ public class BookManagementView {
     }
 
     public void refresh() {
-        bookTable.setItems(FXCollections.observableArrayList(controller.getAllBooks()));
-        bookTable.refresh();
-        clearForm();
+        busy.track(controller.submit(controller::getAllBooks), books -> {
+            bookTable.setItems(FXCollections.observableArrayList(books));
+            bookTable.refresh();
+            clearForm();
+        }, e -> showAlert(Alert.AlertType.ERROR, "Lỗi", "Không thể tải danh sách sách."));
     }
 
     private void clearForm() {
@@ -172,12 +176,7 @@ public class BookManagementView {
     private void addBook() {
         Book book = getBookFromForm();
         if (book != null) {
-            if (controller.addBook(book)) {
-                showAlert(Alert.AlertType.INFORMATION, "Thành công", "Thêm sách mới thành công!");
-                refresh();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Thất bại", "Thêm sách mới thất bại.");
-            }
+            runCommand(() -> controller.addBook(book), "Thêm sách mới thành công!", "Thêm sách mới thất bại.", btnThem);
         }
     }
 
@@ -190,13 +189,7 @@ public class BookManagementView {
 
         Book updatedBook = getBookFromForm();
         if (updatedBook != null) {
-            boolean success = controller.updateBook(updatedBook);
-            if (success) {
-                showAlert(Alert.AlertType.INFORMATION, "Thành công", "Cập nhật sách thành công!");
-                refresh();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Thất bại", "Cập nhật sách thất bại.");
-            }
+            runCommand(() -> controller.updateBook(updatedBook), "Cập nhật sách thành công!", "Cập nhật sách thất bại.", btnSua);
         }
     }
 
@@ -213,14 +206,23 @@ public class BookManagementView {
         Optional<ButtonType> result = confirmation.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            boolean success = controller.deleteBook(selectedBook.getIsbn());
+            String isbn = selectedBook.getIsbn();
+            runCommand(() -> controller.deleteBook(isbn), "Xóa sách thành công!", "Xóa sách thất bại.", btnXoa);
+        }
+    }
+
+    /**
+     * Run a write in the background, then report the outcome and reload the table
+     */
+    private void runCommand(Supplier<Boolean> command, String successMessage, String failureMessage, Button button) {
+        busy.track(controller.submit(command), success -> {
             if (success) {
-                showAlert(Alert.AlertType.INFORMATION, "Thành công", "Xóa sách thành công!");
+                showAlert(Alert.AlertType.INFORMATION, "Thành công", successMessage);
                 refresh();
             } else {
-                showAlert(Alert.AlertType.ERROR, "Thất bại", "Xóa sách thất bại.");
+                showAlert(Alert.AlertType.ERROR, "Thất bại", failureMessage);
             }
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Thất bại", failureMessage), button);
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
@@ -15,7 +15,6 @@ import javafx.util.Callback;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 public class BorrowReturnView {
     private final LibraryController controller;
@@ -30,6 +29,8 @@ public class BorrowReturnView {
     private TextField returnIsbnField;
     private Button loadUserBorrowsBtn;
     private Button returnSelectedBtn;
+    private Button quickReturnBtn;
+    private final BusyIndicator busy = new BusyIndicator();
 
     // Tables
     private TableView<BorrowRecord> userBorrowTable;
@@ -66,7 +67,7 @@ public class BorrowReturnView {
         HBox activeBar = new HBox(8);
         Button refreshActiveBtn = new Button("Làm mới");
         refreshActiveBtn.setOnAction(e -> reloadActiveBorrows());
-        activeBar.getChildren().addAll(refreshActiveBtn);
+        activeBar.getChildren().addAll(refreshActiveBtn, busy);
         activeBar.setAlignment(Pos.CENTER_LEFT);
 
         root.getChildren().addAll(borrowPane, returnPane, activeLbl, activeBorrowTable, activeBar);
@@ -94,6 +95,7 @@ public class BorrowReturnView {
 
         borrowUserIdField = new TextField();
         borrowUserIdField.setPromptText("Nhập mã thành viên (VD: STU001)");
+        AutocompletePopup.attach(borrowUserIdField, controller::suggestUsers);
         borrowIsbnField = new TextField();
         borrowIsbnField.setPromptText("Nhập ISBN sách");
 
@@ -120,13 +122,14 @@ public class BorrowReturnView {
 
         returnUserIdField = new TextField();
         returnUserIdField.setPromptText("Nhập mã thành viên để tải các sách đang mượn");
+        AutocompletePopup.attach(returnUserIdField, controller::suggestUsers);
         returnIsbnField = new TextField();
         returnIsbnField.setPromptText("Nhập ISBN để trả nhanh (tùy chọn)");
 
         loadUserBorrowsBtn = new Button("Tải sách đang mượn");
         loadUserBorrowsBtn.setOnAction(e -> loadUserBorrows());
 
-        Button quickReturnBtn = new Button("Trả (nhập ISBN)");
+        quickReturnBtn = new Button("Trả (nhập ISBN)");
         quickReturnBtn.setOnAction(e -> onReturnByIsbn());
 
         int r = 0;
@@ -194,6 +197,8 @@ public class BorrowReturnView {
     }
 
     // ===== Actions =====
+    // Lookups and updates run on the controller's background executor; the
+    // commands return an error message (null on success) for the FX thread.
     private void onBorrow() {
         String userId = safeText(borrowUserIdField);
         String isbn = safeText(borrowIsbnField);
@@ -203,33 +208,37 @@ public class BorrowReturnView {
             return;
         }
 
+        busy.track(controller.submit(() -> borrowCommand(userId, isbn)), error -> {
+            if (error != null) {
+                showError(error);
+                return;
+            }
+            showInfo("Mượn sách thành công.");
+            clearBorrowInputs();
+            reloadActiveBorrows();
+            // nếu đang xem danh sách mượn của user đó thì refresh luôn
+            if (userId.equals(safeText(returnUserIdField))) {
+                loadUserBorrows();
+            }
+        }, e -> showError("Không thể mượn sách. Vui lòng kiểm tra điều kiện mượn hoặc nhật ký lỗi."), borrowBtn);
+    }
+
+    private String borrowCommand(String userId, String isbn) {
         // Kiểm tra tồn tại
         if (!controller.userExists(userId)) {
-            showError("Không tìm thấy thành viên: " + userId);
-            return;
+            return "Không tìm thấy thành viên: " + userId;
         }
         Book book = controller.getBookByIsbn(isbn);
         if (book == null) {
-            showError("Không tìm thấy sách với ISBN: " + isbn);
-            return;
+            return "Không tìm thấy sách với ISBN: " + isbn;
         }
         if (book.isBorrowed()) {
-            showError("Sách hiện đang được mượn.");
-            return;
+            return "Sách hiện đang được mượn.";
         }
-
-        boolean ok = controller.borrowBook(userId, isbn);
-        if (ok) {
-            showInfo("Mượn sách thành công.");
-            clearBorrowInputs();
-            reloadActiveBorrows();
-            // nếu đang xem danh sách mượn của user đó thì refresh luôn
-            if (userId.equals(safeText(returnUserIdField))) {
-                loadUserBorrows();
-            }
-        } else {
-            showError("Không thể mượn sách. Vui lòng kiểm tra điều kiện mượn hoặc nhật ký lỗi.");
+        if (!controller.borrowBook(userId, isbn)) {
+            return "Không thể mượn sách. Vui lòng kiểm tra điều kiện mượn hoặc nhật ký lỗi.";
         }
+        return null;
     }
 
     private void onReturnByIsbn() {
@@ -241,25 +250,29 @@ public class BorrowReturnView {
             return;
         }
 
-        if (!controller.userExists(userId)) {
-            showError("Không tìm thấy thành viên: " + userId);
-            return;
-        }
-        Book book = controller.getBookByIsbn(isbn);
-        if (book == null) {
-            showError("Không tìm thấy sách với ISBN: " + isbn);
-            return;
-        }
-
-        boolean ok = controller.returnBook(userId, isbn);
-        if (ok) {
+        busy.track(controller.submit(() -> returnCommand(userId, isbn)), error -> {
+            if (error != null) {
+                showError(error);
+                return;
+            }
             showInfo("Trả sách thành công.");
             returnIsbnField.clear();
             reloadActiveBorrows();
             loadUserBorrows();
-        } else {
-            showError("Không thể trả sách. Kiểm tra lại dữ liệu hoặc nhật ký lỗi.");
+        }, e -> showError("Không thể trả sách. Kiểm tra lại dữ liệu hoặc nhật ký lỗi."), quickReturnBtn);
+    }
+
+    private String returnCommand(String userId, String isbn) {
+        if (!controller.userExists(userId)) {
+            return "Không tìm thấy thành viên: " + userId;
+        }
+        if (controller.getBookByIsbn(isbn) == null) {
+            return "Không tìm thấy sách với ISBN: " + isbn;
         }
+        if (!controller.returnBook(userId, isbn)) {
+            return "Không thể trả sách. Kiểm tra lại dữ liệu hoặc nhật ký lỗi.";
+        }
+        return null;
     }
 
     private void onReturnSelected() {
@@ -272,14 +285,15 @@ public class BorrowReturnView {
             showInfo("Bản ghi đã được trả trước đó.");
             return;
         }
-        boolean ok = controller.returnBook(rec.getUserId(), rec.getBookIsbn());
-        if (ok) {
-            showInfo("Trả sách thành công.");
-            reloadActiveBorrows();
-            loadUserBorrows();
-        } else {
-            showError("Không thể trả sách. Kiểm tra lại dữ liệu hoặc nhật ký lỗi.");
-        }
+        busy.track(controller.submit(() -> controller.returnBook(rec.getUserId(), rec.getBookIsbn())), ok -> {
+            if (ok) {
+                showInfo("Trả sách thành công.");
+                reloadActiveBorrows();
+                loadUserBorrows();
+            } else {
+                showError("Không thể trả sách. Kiểm tra lại dữ liệu hoặc nhật ký lỗi.");
+            }
+        }, e -> showError("Không thể trả sách. Kiểm tra lại dữ liệu hoặc nhật ký lỗi."), returnSelectedBtn);
     }
 
     private void loadUserBorrows() {
@@ -288,19 +302,23 @@ public class BorrowReturnView {
             showError("Vui lòng nhập mã thành viên.");
             return;
         }
-        if (!controller.userExists(userId)) {
-            showError("Không tìm thấy thành viên: " + userId);
-            return;
-        }
-        List<BorrowRecord> list = controller.getUserCurrentBorrows(userId);
-        userBorrowData.setAll(list);
-        userBorrowTable.setItems(userBorrowData);
+        // null means the member does not exist
+        busy.track(controller.submit(() -> controller.userExists(userId) ? controller.getUserCurrentBorrows(userId) : null),
+            list -> {
+                if (list == null) {
+                    showError("Không tìm thấy thành viên: " + userId);
+                    return;
+                }
+                userBorrowData.setAll(list);
+                userBorrowTable.setItems(userBorrowData);
+            }, e -> showError("Không thể tải danh sách sách đang mượn."), loadUserBorrowsBtn);
     }
 
     private void reloadActiveBorrows() {
-        List<BorrowRecord> list = controller.getAllActiveBorrows();
-        activeBorrowData.setAll(list);
-        activeBorrowTable.setItems(activeBorrowData);
+        busy.track(controller.submit(controller::getAllActiveBorrows), list -> {
+            activeBorrowData.setAll(list);
+            activeBorrowTable.setItems(activeBorrowData);
+        }, e -> showError("Không thể tải các lượt mượn đang hoạt động."));
     }
 
     // ===== helpers =====
@@ -0,0 +1,102 @@
+package com.library.view;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Small spinner shown while a view waits for background commands. Results
+ * are handed back on the FX thread, so callbacks can update controls directly.
+ */
+public class BusyIndicator extends ProgressIndicator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusyIndicator.class);
+
+    /** Node property holding a DisableHold while tracked commands keep the node disabled */
+    private static final Object HOLD_KEY = new Object();
+
+    private int running;
+    private Runnable onIdle;
+
+    public BusyIndicator() {
+        setMaxSize(20, 20);
+        setPrefSize(20, 20);
+        setVisible(false);
+    }
+
+    /**
+     * Run when the last tracked command has restored its controls, before its
+     * callbacks; views use it to re-derive state such as selection-dependent
+     * buttons that may have changed while commands ran
+     */
+    public void setOnIdle(Runnable onIdle) {
+        this.onIdle = onIdle;
+    }
+
+    /**
+     * Show the spinner and disable the given controls until future completes,
+     * then pass its result or failure to the callbacks on the FX thread.
+     * Controls get back the disable state they had before the command.
+     */
+    public <T> void track(CompletableFuture<T> future, Consumer<T> onSuccess,
+                          Consumer<Throwable> onError, Node... disableWhileRunning) {
+        running++;
+        setVisible(true);
+        for (Node node : disableWhileRunning) {
+            hold(node);
+        }
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            running--;
+            setVisible(running > 0);
+            for (Node node : disableWhileRunning) {
+                release(node);
+            }
+            if (running == 0 && onIdle != null) {
+                onIdle.run();
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                LOGGER.warn("Background command failed", cause);
+                onError.accept(cause);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    private static void hold(Node node) {
+        DisableHold hold = (DisableHold) node.getProperties().get(HOLD_KEY);
+        if (hold == null) {
+            hold = new DisableHold(node.isDisable());
+            node.getProperties().put(HOLD_KEY, hold);
+            node.setDisable(true);
+        }
+        hold.count++;
+    }
+
+    private static void release(Node node) {
+        DisableHold hold = (DisableHold) node.getProperties().get(HOLD_KEY);
+        if (hold != null && --hold.count == 0) {
+            node.getProperties().remove(HOLD_KEY);
+            node.setDisable(hold.wasDisabled);
+        }
+    }
+
+    /**
+     * Disable state of a node before the first of the commands holding it
+     */
+    private static final class DisableHold {
+        private final boolean wasDisabled;
+        private int count;
+
+        DisableHold(boolean wasDisabled) {
+            this.wasDisabled = wasDisabled;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.library.view;
 
 import com.library.controller.LibraryController;
+import com.library.utils.AppExecutors;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -12,11 +15,23 @@ import javafx.stage.Stage;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
- * Main view for the Library Management System
+ * Main view for the Library Management System.
+ *
+ * The window is shown first with skeleton tabs. The controller (database
+ * connection, schema, sample data) is created in the background, and each
+ * tab builds and loads its view the first time it is selected.
  */
 public class MainView {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MainView.class);
+    
     private Stage primaryStage;
     private LibraryController controller;
     private BorderPane mainLayout;
@@ -30,8 +45,6 @@ public class MainView {
     private ReportsView reportsView;
     
     public MainView() {
-        this.controller = new LibraryController();
-        initializeViews();
     }
     
     public void start(Stage primaryStage) {
@@ -47,12 +60,34 @@ public class MainView {
         primaryStage.setMinWidth(800);
         primaryStage.setMinHeight(600);
         primaryStage.centerOnScreen();
+        reportFirstFrame(scene);
         primaryStage.show();
         
         // Load initial data
         loadInitialData();
     }
     
+    /**
+     * Log the time from process start to the first rendered frame. The FX
+     * thread is free at that point, so the window is already interactive.
+     */
+    private void reportFirstFrame(Scene scene) {
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                LOGGER.info("First frame after {} ms", millisSinceProcessStart());
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+    
+    private static long millisSinceProcessStart() {
+        return ProcessHandle.current().info().startInstant()
+            .map(start -> java.time.Duration.between(start, Instant.now()).toMillis())
+            .orElse(-1L);
+    }
+    
     private void initializeViews() {
         bookListView = new BookListView(controller);
         userManagementView = new UserManagementView(controller);
@@ -159,21 +194,12 @@ public class MainView {
         contentTabPane.getStyleClass().add("content-tabs");
         contentTabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
         
-        // Create tabs
-        Tab bookListTab = new Tab("Danh sách sách", bookListView.createView());
-        bookListTab.setGraphic(new Label("📚"));
-        
-        Tab userManagementTab = new Tab("Quản lý thành viên", userManagementView.createView());
-        userManagementTab.setGraphic(new Label("👥"));
-        
-        Tab borrowReturnTab = new Tab("Mượn/Trả sách", borrowReturnView.createView());
-        borrowReturnTab.setGraphic(new Label("📖"));
-        
-        Tab bookManagementTab = new Tab("Quản lý sách", bookManagementView.createView());
-        bookManagementTab.setGraphic(new Label("⚙️"));
-        
-        Tab reportsTab = new Tab("Báo cáo", reportsView.createView());
-        reportsTab.setGraphic(new Label("📊"));
+        // Create tabs; content is built on first selection
+        Tab bookListTab = createLazyTab("Danh sách sách", "📚", () -> bookListView.createView());
+        Tab userManagementTab = createLazyTab("Quản lý thành viên", "👥", () -> userManagementView.createView());
+        Tab borrowReturnTab = createLazyTab("Mượn/Trả sách", "📖", () -> borrowReturnView.createView());
+        Tab bookManagementTab = createLazyTab("Quản lý sách", "⚙️", () -> bookManagementView.createView());
+        Tab reportsTab = createLazyTab("Báo cáo", "📊", () -> reportsView.createView());
         
         contentTabPane.getTabs().addAll(
             bookListTab,
@@ -182,10 +208,58 @@ public class MainView {
             bookManagementTab,
             reportsTab
         );
+        contentTabPane.getSelectionModel().selectedItemProperty().addListener((obs, oldTab, newTab) -> {
+            if (newTab != null) {
+                buildTabContent(newTab);
+            }
+        });
         
         return contentTabPane;
     }
     
+    /**
+     * Tab showing a skeleton until its view is built. The view factory is
+     * kept in the tab's user data and cleared once the content is built.
+     */
+    private Tab createLazyTab(String title, String icon, Supplier<Node> viewFactory) {
+        Tab tab = new Tab(title, createSkeleton());
+        tab.setGraphic(new Label(icon));
+        tab.setUserData(viewFactory);
+        return tab;
+    }
+    
+    private VBox createSkeleton() {
+        VBox skeleton = new VBox(12);
+        skeleton.setPadding(new Insets(20));
+        
+        HBox loading = new HBox(10, new ProgressIndicator(), new Label("Đang tải dữ liệu..."));
+        loading.setAlignment(Pos.CENTER_LEFT);
+        skeleton.getChildren().add(loading);
+        
+        double[] widths = {420, 640, 560, 640, 500, 600};
+        for (double width : widths) {
+            Region line = new Region();
+            line.getStyleClass().add("skeleton-line");
+            line.setPrefSize(width, 18);
+            line.setMaxWidth(width);
+            skeleton.getChildren().add(line);
+        }
+        return skeleton;
+    }
+    
+    /**
+     * Build the view of a tab if it is still a skeleton and data is ready
+     */
+    private void buildTabContent(Tab tab) {
+        if (controller == null || !(tab.getUserData() instanceof Supplier<?> viewFactory)) {
+            return;
+        }
+        tab.setUserData(null);
+        long start = System.nanoTime();
+        tab.setContent((Node) viewFactory.get());
+        LOGGER.debug("Built tab '{}' in {} ms", tab.getText(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
     private HBox createStatusBar() {
         HBox statusBar = new HBox(10);
         statusBar.getStyleClass().add("status-bar");
@@ -223,6 +297,10 @@ public class MainView {
     }
     
     private void refreshCurrentView() {
+        Tab selectedTab = contentTabPane.getSelectionModel().getSelectedItem();
+        if (controller == null || selectedTab == null || selectedTab.getUserData() != null) {
+            return; // still loading
+        }
         int selectedIndex = contentTabPane.getSelectionModel().getSelectedIndex();
         
         switch (selectedIndex) {
@@ -283,16 +361,57 @@ public class MainView {
         helpAlert.showAndWait();
     }
     
+    /**
+     * Background startup phase: open the database, load sample data if it
+     * is empty, then build the selected tab on the FX thread
+     */
     private void loadInitialData() {
-        // Load sample data if database is empty
-        controller.initializeSampleData();
+        showStatusMessage("Đang tải dữ liệu...", false);
+        CompletableFuture.supplyAsync(() -> {
+            LibraryController created = new LibraryController();
+            // Load sample data if database is empty
+            created.initializeSampleData();
+            return created;
+        }, AppExecutors.getInstance().db()).whenComplete((created, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                LOGGER.error("Failed to load initial data", error);
+                showStatusMessage("Không thể tải dữ liệu", false);
+                return;
+            }
+            controller = created;
+            initializeViews();
+            buildTabContent(contentTabPane.getSelectionModel().getSelectedItem());
+            LOGGER.info("Initial data ready after {} ms", millisSinceProcessStart());
+            showStatusMessage("Sẵn sàng", false);
+            if (Boolean.getBoolean("library.exitAfterStartup")) {
+                // Training and benchmark runs (AppCDS) stop once startup is done
+                shutdown();
+                Platform.exit();
+                System.exit(0);
+            }
+        }));
+    }
+    
+    public void shutdown() {
+        if (controller != null) {
+            controller.shutdown();
+        } else {
+            AppExecutors.getInstance().shutdown();
+        }
     }
     
     private void showStatusMessage(String message) {
+        showStatusMessage(message, true);
+    }
+    
+    private void showStatusMessage(String message, boolean resetAfterDelay) {
         // Update status bar with message
         HBox statusBar = (HBox) mainLayout.getBottom();
         Label statusLabel = (Label) statusBar.getChildren().get(0);
         statusLabel.setText(message);
+        if (!resetAfterDelay) {
+            return;
+        }
         
         // Reset to default after 3 seconds
         Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(3), 
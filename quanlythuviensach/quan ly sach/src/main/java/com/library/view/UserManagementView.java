@@ -1,7 +1,6 @@
 package com.library.view;
 
 import com.library.controller.LibraryController;
-import com.library.model.BorrowRecord;
 import com.library.model.Staff;
 import com.library.model.Student;
 import com.library.model.User;
@@ -19,6 +18,7 @@ import javafx.util.StringConverter;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class UserManagementView {
     private final LibraryController controller;
@@ -32,6 +32,7 @@ public class UserManagementView {
     private Button deleteBtn;
     private Label totalUsersLabel;
     private Label activeUsersLabel;
+    private final BusyIndicator busy = new BusyIndicator();
 
     public UserManagementView(LibraryController controller) {
         this.controller = controller;
@@ -52,6 +53,7 @@ public class UserManagementView {
         searchField = new TextField();
         searchField.setPromptText("Tìm theo tên, mã thành viên…");
         searchField.setPrefWidth(320);
+        AutocompletePopup.attach(searchField, controller::suggestUsers);
 
         Button searchBtn = new Button("Tìm");
         searchBtn.setOnAction(e -> doSearch());
@@ -76,15 +78,13 @@ public class UserManagementView {
         deleteBtn.setDisable(true);
         deleteBtn.setOnAction(e -> handleDelete(getSelectedUser()));
 
-        toolbar.getChildren().addAll(searchField, searchBtn, clearBtn, spacer, addBtn, editBtn, deleteBtn);
+        toolbar.getChildren().addAll(searchField, searchBtn, clearBtn, busy, spacer, addBtn, editBtn, deleteBtn);
 
         // Table
         table = createTable();
-        table.getSelectionModel().selectedItemProperty().addListener((obs, oldV, newV) -> {
-            boolean hasSelection = newV != null;
-            editBtn.setDisable(!hasSelection);
-            deleteBtn.setDisable(!hasSelection);
-        });
+        table.getSelectionModel().selectedItemProperty().addListener((obs, oldV, newV) -> updateSelectionButtons());
+        // The selection may change while a command holds the buttons disabled
+        busy.setOnIdle(this::updateSelectionButtons);
 
         // Stats
         HBox stats = new HBox(18);
@@ -166,8 +166,7 @@ public class UserManagementView {
 
     // ===== Data operations =====
     private void reloadUsers() {
-        users.setAll(controller.getAllUsers());
-        updateStats();
+        showUsers(controller.submit(controller::getAllUsers));
     }
 
     private void doSearch() {
@@ -176,8 +175,15 @@ public class UserManagementView {
             reloadUsers();
             return;
         }
-        users.setAll(controller.searchUsers(q.trim()));
-        updateStats();
+        String term = q.trim();
+        showUsers(controller.submit(() -> controller.searchUsers(term)));
+    }
+
+    private void showUsers(CompletableFuture<List<User>> query) {
+        busy.track(query, list -> {
+            users.setAll(list);
+            updateStats();
+        }, e -> showError("Không thể tải danh sách thành viên."));
     }
 
     private void updateStats() {
@@ -194,64 +200,76 @@ public class UserManagementView {
         return table.getSelectionModel().getSelectedItem();
     }
 
+    private void updateSelectionButtons() {
+        boolean hasSelection = getSelectedUser() != null;
+        editBtn.setDisable(!hasSelection);
+        deleteBtn.setDisable(!hasSelection);
+    }
+
     // ===== Add / Edit / Delete =====
     private void openAddDialog() {
         UserForm form = new UserForm(null);
         Optional<User> result = form.showAndWait();
-        result.ifPresent(newUser -> {
+        result.ifPresent(newUser -> busy.track(controller.submit(() -> {
             // kiểm tra trùng mã
             if (controller.getUserById(newUser.getId()) != null) {
-                showError("Mã thành viên đã tồn tại. Vui lòng chọn mã khác.");
-                return;
+                return "Mã thành viên đã tồn tại. Vui lòng chọn mã khác.";
             }
-            boolean ok = controller.addUser(newUser);
-            if (ok) {
-                showInfo("Thêm thành viên thành công.");
-                reloadUsers();
-            } else {
-                showError("Không thể thêm thành viên. Vui lòng kiểm tra dữ liệu hoặc nhật ký lỗi.");
+            return controller.addUser(newUser)
+                ? null : "Không thể thêm thành viên. Vui lòng kiểm tra dữ liệu hoặc nhật ký lỗi.";
+        }), error -> {
+            if (error != null) {
+                showError(error);
+                return;
             }
-        });
+            showInfo("Thêm thành viên thành công.");
+            reloadUsers();
+        }, e -> showError("Không thể thêm thành viên. Vui lòng kiểm tra dữ liệu hoặc nhật ký lỗi."), addBtn));
     }
 
     private void openEditDialog(User user) {
         if (user == null) return;
         UserForm form = new UserForm(user);
         Optional<User> result = form.showAndWait();
-        result.ifPresent(updated -> {
-            boolean ok = controller.updateUser(updated);
+        result.ifPresent(updated -> busy.track(controller.submit(() -> controller.updateUser(updated)), ok -> {
             if (ok) {
                 showInfo("Cập nhật thông tin thành công.");
                 reloadUsers();
             } else {
                 showError("Không thể cập nhật thành viên.");
             }
-        });
+        }, e -> showError("Không thể cập nhật thành viên."), editBtn));
     }
 
     private void handleDelete(User user) {
         if (user == null) return;
 
-        // Không cho xóa nếu đang mượn sách
-        List<BorrowRecord> current = controller.getUserCurrentBorrows(user.getId());
-        if (current != null && !current.isEmpty()) {
-            showError("Không thể xóa. Thành viên đang có sách đang mượn.");
-            return;
-        }
+        // Không cho xóa nếu đang mượn sách; the check runs in the background,
+        // the confirmation dialog back on the FX thread
+        busy.track(controller.submit(() -> controller.getUserCurrentBorrows(user.getId())), current -> {
+            if (current != null && !current.isEmpty()) {
+                showError("Không thể xóa. Thành viên đang có sách đang mượn.");
+                return;
+            }
+            confirmDelete(user);
+        }, e -> showError("Xóa thất bại."), deleteBtn);
+    }
 
+    private void confirmDelete(User user) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Xóa thành viên");
         confirm.setHeaderText("Bạn có chắc muốn xóa?");
         confirm.setContentText("Mã: " + user.getId() + " - " + user.getName());
         Optional<ButtonType> resp = confirm.showAndWait();
         if (resp.isPresent() && resp.get() == ButtonType.OK) {
-            boolean ok = controller.deleteUser(user.getId());
-            if (ok) {
-                showInfo("Đã xóa thành viên.");
-                reloadUsers();
-            } else {
-                showError("Xóa thất bại.");
-            }
+            busy.track(controller.submit(() -> controller.deleteUser(user.getId())), ok -> {
+                if (ok) {
+                    showInfo("Đã xóa thành viên.");
+                    reloadUsers();
+                } else {
+                    showError("Xóa thất bại.");
+                }
+            }, e -> showError("Xóa thất bại."), deleteBtn);
         }
     }
 
@@ -8,6 +8,12 @@ module library.management.system {
     requires com.google.zxing;
     requires com.google.zxing.javase;
     requires java.logging;
+    requires org.slf4j;
+    requires logback.classic;
+    requires logback.core;
+    requires java.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
     requires org.xerial.sqlitejdbc;
     
     exports com.library;
@@ -17,4 +23,11 @@ module library.management.system {
     exports com.library.database;
     exports com.library.service;
     exports com.library.utils;
+    exports com.library.api;
+    exports com.library.metrics;
+    exports com.library.jfr;
+    exports com.library.logging;
+    
+    opens com.library.model to com.google.gson;
+    opens com.library.api to com.google.gson;
 }
@@ -0,0 +1,117 @@
+package com.library.service;
+
+import com.library.model.Book;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * HTTP caching of Google Books responses, against a local stub of the
+ * volumes endpoint that answers If-None-Match with 304
+ */
+class GoogleBooksServiceTest {
+    private static final String ETAG = "\"v1\"";
+    private static final String ISBN = "9786041234567";
+    private static final String VOLUME = """
+        {"kind": "books#volumes", "totalItems": 1, "items": [{"volumeInfo": {
+          "title": "Lập trình Java", "authors": ["Nguyễn An"], "publishedDate": "2020",
+          "industryIdentifiers": [{"type": "ISBN_13", "identifier": "9786041234567"}]}}]}
+        """;
+
+    @TempDir
+    static Path dataDir;
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private final List<Integer> statuses = new CopyOnWriteArrayList<>();
+    private ExecutorService executor;
+    private OkHttpClient client;
+    private GoogleBooksService service;
+
+    @BeforeAll
+    static void useTemporaryDatabase() {
+        // Must be set before Database is first touched
+        System.setProperty("library.db.path", dataDir.resolve("test.db").toString());
+    }
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/books/v1/volumes", this::volumes);
+        server.start();
+        executor = Executors.newCachedThreadPool();
+        client = new OkHttpClient.Builder().cache(new Cache(cacheDir.toFile(), 1024 * 1024)).build();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/books/v1/volumes";
+        service = new GoogleBooksService(url, client, executor);
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        server.stop(0);
+        executor.shutdownNow();
+        client.cache().close();
+    }
+
+    @Test
+    void secondRefreshIsRevalidatedWithNotModified() {
+        Book first = service.refreshByIsbn(ISBN).join();
+        Book second = service.refreshByIsbn(ISBN).join();
+
+        assertEquals(List.of(200, 304), statuses);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("Lập trình Java", second.getTitle());
+        assertEquals(first.getIsbn(), second.getIsbn());
+    }
+
+    @Test
+    void refreshAfterLookupIsRevalidatedWithNotModified() {
+        // Another ISBN than the other test, whose result is in the shared metadata cache table
+        String isbn = "978-604-765432-1";
+        Book looked = service.searchByIsbn(isbn).join();
+        Book refreshed = service.refreshByIsbn(isbn).join();
+
+        assertEquals(List.of(200, 304), statuses);
+        assertEquals(looked.getTitle(), refreshed.getTitle());
+    }
+
+    private void volumes(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("ETag", ETAG);
+        exchange.getResponseHeaders().set("Cache-Control", "private, max-age=3600");
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            statuses.add(304);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = VOLUME.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        statuses.add(200);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.library.service;
+
+import com.library.database.BookDAO;
+import com.library.model.Book;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk ISBN enrichment against a local stub of the volumes endpoint that
+ * answers slowly and can fail chosen ISBNs
+ */
+class IsbnEnrichmentServiceTest {
+    private static final int CONCURRENCY = 3;
+    private static final int BATCH_SIZE = 4;
+    private static final String VOLUME = """
+        {"kind": "books#volumes", "totalItems": 1, "items": [{"volumeInfo": {
+          "title": "Sách %1$s", "authors": ["Trần Bình"], "publishedDate": "2021",
+          "industryIdentifiers": [{"type": "ISBN_13", "identifier": "%1$s"}]}}]}
+        """;
+    private static final String NO_ITEMS = """
+        {"kind": "books#volumes", "totalItems": 0}
+        """;
+
+    @TempDir
+    static Path dataDir;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private OkHttpClient client;
+    private GoogleBooksService googleBooksService;
+    private RecordingBookDAO bookDAO;
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Map<String, Integer> unavailable = new ConcurrentHashMap<>();
+    private final Set<String> notFound = ConcurrentHashMap.newKeySet();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @BeforeAll
+    static void useTemporaryDatabase() {
+        // Must be set before Database is first touched
+        System.setProperty("library.db.path", dataDir.resolve("test.db").toString());
+    }
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/books/v1/volumes", this::volumes);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        executor = Executors.newCachedThreadPool();
+        client = new OkHttpClient();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/books/v1/volumes";
+        googleBooksService = new GoogleBooksService(url, client, executor);
+        bookDAO = new RecordingBookDAO();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        executor.shutdownNow();
+        client.connectionPool().evictAll();
+    }
+
+    @Test
+    void lookupsNeverExceedTheConcurrencyLimit() {
+        List<String> isbns = isbns(9786040001000L, 12);
+
+        IsbnEnrichmentService.EnrichmentResult result = service(100.0).enrich(isbns).join();
+
+        assertEquals(12, result.getFound().size());
+        assertTrue(peak.get() <= CONCURRENCY, "peak concurrency " + peak.get());
+    }
+
+    @Test
+    void duplicateIsbnsAreRequestedOnce() {
+        List<String> isbns = List.of("9786040002001", "978-604-000200-1", "9786040002002", "9786040002001");
+
+        IsbnEnrichmentService.EnrichmentResult result = service(100.0).enrich(isbns).join();
+
+        assertEquals(2, result.getRequested());
+        assertEquals(1, requests.get("9786040002001").get());
+        assertEquals(1, requests.get("9786040002002").get());
+    }
+
+    @Test
+    void serviceUnavailableIsRetried() {
+        unavailable.put("9786040003001", 1);
+
+        IsbnEnrichmentService.EnrichmentResult result = service(100.0).enrich(List.of("9786040003001")).join();
+
+        assertEquals(2, requests.get("9786040003001").get());
+        assertEquals(1, result.getFound().size());
+        assertTrue(result.getFailed().isEmpty());
+    }
+
+    @Test
+    void clientErrorIsNotRetried() {
+        rejected.add("9786040004001");
+
+        IsbnEnrichmentService.EnrichmentResult result = service(100.0).enrich(List.of("9786040004001")).join();
+
+        assertEquals(1, requests.get("9786040004001").get());
+        assertEquals(List.of("9786040004001"), result.getFailed());
+    }
+
+    @Test
+    void foundBooksAreUpsertedInBatches() {
+        List<String> isbns = isbns(9786040005000L, 10);
+        notFound.add(isbns.get(0));
+
+        IsbnEnrichmentService.EnrichmentResult result = service(100.0).enrich(isbns).join();
+
+        assertEquals(List.of(isbns.get(0)), result.getNotFound());
+        assertEquals(9, result.getSaved());
+        assertEquals(3, bookDAO.batchSizes.size());
+        assertTrue(bookDAO.batchSizes.stream().allMatch(size -> size <= BATCH_SIZE), "batches " + bookDAO.batchSizes);
+        for (String isbn : isbns.subList(1, isbns.size())) {
+            assertNotNull(bookDAO.findByIsbn(isbn), isbn);
+        }
+    }
+
+    @Test
+    void cachedIsbnsDoNotWaitForTheRateLimiter() {
+        List<String> isbns = isbns(9786040006000L, 6);
+        notFound.add(isbns.get(0));
+        service(100.0).enrich(isbns).join();
+        requests.clear();
+
+        // Without cache hits, six lookups at one permit every two seconds would take about six seconds
+        long start = System.nanoTime();
+        IsbnEnrichmentService.EnrichmentResult result = service(0.5).enrich(isbns).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(requests.isEmpty(), "requests " + requests);
+        assertEquals(5, result.getFound().size());
+        assertEquals(1, result.getNotFound().size());
+        assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+    }
+
+    private IsbnEnrichmentService service(double requestsPerSecond) {
+        return new IsbnEnrichmentService(googleBooksService, bookDAO, executor, CONCURRENCY, requestsPerSecond,
+            3, Duration.ofMillis(10), BATCH_SIZE);
+    }
+
+    private static List<String> isbns(long first, int count) {
+        return LongStream.range(first, first + count).mapToObj(Long::toString).toList();
+    }
+
+    private void volumes(HttpExchange exchange) throws IOException {
+        String isbn = exchange.getRequestURI().getQuery().replaceAll(".*isbn:", "");
+        requests.computeIfAbsent(isbn, k -> new AtomicInteger()).incrementAndGet();
+        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(50);
+            if (rejected.contains(isbn)) {
+                exchange.sendResponseHeaders(400, -1);
+            } else if (unavailable.merge(isbn, -1, Integer::sum) >= 0) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                String json = notFound.contains(isbn) ? NO_ITEMS : String.format(VOLUME, isbn);
+                byte[] body = json.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    /**
+     * Saves through the real DAO and records the size of every batch
+     */
+    private static class RecordingBookDAO extends BookDAO {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public int upsertAll(List<Book> books) {
+            batchSizes.add(books.size());
+            return super.upsertAll(books);
+        }
+    }
+}